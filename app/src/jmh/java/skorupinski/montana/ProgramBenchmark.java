@@ -0,0 +1,87 @@
+package skorupinski.montana;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import skorupinski.montana.interpreter.Interpreter;
+import skorupinski.montana.interpreter.MemoryValue;
+import skorupinski.montana.interpreter.Output;
+import skorupinski.montana.interpreter.Program;
+import skorupinski.montana.interpreter.ScriptCompiler;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProgramBenchmark {
+
+    private static final String FIB = 
+        "fun fib(n) { if(n < 2) { return n; } return fib(n - 1) + fib(n - 2); }\n" +
+        "have result = fib(20);\n";
+
+    private static final String NESTED_LOOPS = 
+        "have total = 0;\n" +
+        "for(have i = 0; i < 300; i++) { for(have j = 0; j < 300; j++) { total = total + i * j; } }\n";
+
+    private static final String STRING_BUILDING = 
+        "have s = '';\n" +
+        "for(have i = 0; i < 20000; i++) { s = s + 'x'; }\n";
+
+    private static final String ARRAY_SUM = 
+        "have a = [];\n" +
+        "for(have i = 0; i < 100000; i++) { a:append(i); }\n" +
+        "have total = 0;\n" +
+        "for(have i = 0; i < 100000; i++) { total = total + a[i]; }\n";
+
+    @Param({ "fib", "nestedLoops", "stringBuilding", "arraySum" })
+    public String program;
+
+    private ScriptCompiler compiler;
+
+    private Program compiled;
+
+    private Output output;
+
+    @Setup
+    public void setup() throws IOException {
+        String source;
+
+        switch(program) {
+            case "fib":
+                source = FIB;
+                break;
+            case "nestedLoops":
+                source = NESTED_LOOPS;
+                break;
+            case "stringBuilding":
+                source = STRING_BUILDING;
+                break;
+            default:
+                source = ARRAY_SUM;
+                break;
+        }
+
+        compiler = new ScriptCompiler();
+        compiled = compiler.compile(Sources.write(program, source));
+        output = Sources.discard();
+    }
+
+    @Benchmark
+    public MemoryValue execute() {
+        return new Interpreter(compiler, output).execute(compiled);
+    }
+}
@@ -0,0 +1,42 @@
+package skorupinski.montana;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import skorupinski.montana.interpreter.Output;
+
+public class Sources {
+
+    private Sources() {}
+
+    public static String generated(int functions) {
+        StringBuilder source = new StringBuilder();
+
+        for(int i = 0; i < functions; i++) {
+            source.append("fun f").append(i).append("(a, b) {\n")
+                  .append("  have c = a * b + ").append(i).append(";\n")
+                  .append("  if(c > 10) { return c - 1; }\n")
+                  .append("  return c;\n")
+                  .append("}\n")
+                  .append("have v").append(i).append(" = f").append(i).append("(").append(i).append(", 2.5);\n")
+                  .append("have s").append(i).append(" = 'value ").append(i).append("';\n");
+        }
+
+        return source.toString();
+    }
+
+    public static String write(String name, String source) throws IOException {
+        Path file = Files.createTempFile("montana-" + name, ".mt");
+        Files.writeString(file, source, StandardCharsets.UTF_8);
+        file.toFile().deleteOnExit();
+
+        return file.toString();
+    }
+
+    public static Output discard() {
+        return new Output(Channels.newChannel(java.io.OutputStream.nullOutputStream()), false, Output.DEFAULT_CAPACITY, false);
+    }
+}
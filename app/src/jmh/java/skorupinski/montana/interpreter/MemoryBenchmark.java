@@ -0,0 +1,63 @@
+package skorupinski.montana.interpreter;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import skorupinski.montana.interpreter.MemoryValue.Singular;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoryBenchmark {
+
+    @Param({ "1", "4", "16", "64" })
+    public int depth;
+
+    private Memory innermost;
+
+    private Singular value;
+
+    @Setup
+    public void setup() {
+        Memory memory = new Memory(1, new Memory(0, null));
+        memory.put("global", new Singular(0L));
+
+        for(int level = 2; level <= depth; level++) {
+            memory = new Memory(level, memory);
+            memory.define("local" + level, new Singular((long) level));
+        }
+
+        innermost = memory;
+        value = new Singular(42L);
+    }
+
+    @Benchmark
+    public MemoryValue getGlobal() {
+        return innermost.get("global", false);
+    }
+
+    @Benchmark
+    public MemoryValue getMissing() {
+        return innermost.get("missing", false);
+    }
+
+    @Benchmark
+    public Memory putGlobal() {
+        innermost.put("global", value);
+        return innermost;
+    }
+}
@@ -0,0 +1,77 @@
+package skorupinski.montana.interpreter;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NumberFormatBenchmark {
+
+    private static final int COUNT = 1024;
+
+    private double[] numbers;
+
+    private String[] literals;
+
+    private StringBuilder target;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+
+        numbers = new double[COUNT];
+        literals = new String[COUNT];
+        target = new StringBuilder(64);
+
+        for(int i = 0; i < COUNT; i++) {
+            numbers[i] = i % 4 == 0 ? random.nextInt(100000) : random.nextDouble() * 1000;
+            literals[i] = Double.toString(numbers[i]);
+        }
+    }
+
+    @Benchmark
+    public void formatMontana(Blackhole hole) {
+        for(double number : numbers) {
+            target.setLength(0);
+            NumberFormat.appendTo(target, number);
+            hole.consume(target);
+        }
+    }
+
+    @Benchmark
+    public void formatJdk(Blackhole hole) {
+        for(double number : numbers) {
+            hole.consume(Double.toString(number));
+        }
+    }
+
+    @Benchmark
+    public void parseMontana(Blackhole hole) {
+        for(String literal : literals) {
+            hole.consume(NumberFormat.parseDouble(literal));
+        }
+    }
+
+    @Benchmark
+    public void parseJdk(Blackhole hole) {
+        for(String literal : literals) {
+            hole.consume(Double.parseDouble(literal));
+        }
+    }
+}
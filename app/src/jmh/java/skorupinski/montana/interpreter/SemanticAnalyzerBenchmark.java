@@ -0,0 +1,49 @@
+package skorupinski.montana.interpreter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import skorupinski.montana.Sources;
+import skorupinski.montana.lexer.Lexer;
+import skorupinski.montana.parser.AST;
+import skorupinski.montana.parser.Parser;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SemanticAnalyzerBenchmark {
+
+    @Param({ "100", "1000" })
+    public int functions;
+
+    private AST tree;
+
+    @Setup
+    public void setup() throws IOException {
+        String path = Sources.write("analyzer", Sources.generated(functions));
+        tree = new Parser(new Lexer(path)).parse();
+    }
+
+    @Benchmark
+    public SemanticAnalyzer visit() {
+        SemanticAnalyzer analyzer = new SemanticAnalyzer();
+        analyzer.visit(tree);
+
+        return analyzer;
+    }
+}
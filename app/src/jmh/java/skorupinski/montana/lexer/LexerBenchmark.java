@@ -0,0 +1,56 @@
+package skorupinski.montana.lexer;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import skorupinski.montana.Sources;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LexerBenchmark {
+
+    @Param({ "100", "1000" })
+    public int functions;
+
+    private String path;
+
+    private Lexer lexer;
+
+    @Setup(Level.Trial)
+    public void source() throws IOException {
+        path = Sources.write("lexer", Sources.generated(functions));
+    }
+
+    @Setup(Level.Invocation)
+    public void lexer() {
+        lexer = new Lexer(path);
+    }
+
+    @Benchmark
+    public void nextToken(Blackhole hole) {
+        Token token = lexer.nextToken();
+
+        while(!token.typeOf(TokenType.END_OF_FILE)) {
+            hole.consume(token);
+            token = lexer.nextToken();
+        }
+    }
+}
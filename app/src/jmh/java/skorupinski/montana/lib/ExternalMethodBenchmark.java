@@ -0,0 +1,71 @@
+package skorupinski.montana.lib;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import skorupinski.montana.interpreter.MemoryValue;
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.lexer.TokenType;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExternalMethodBenchmark {
+
+    public static class Numbers {
+
+        public long add(long a, long b) {
+            return a + b;
+        }
+
+        public String greet(String name) {
+            return "hello " + name;
+        }
+    }
+
+    private ExternalMethod add;
+
+    private ExternalMethod greet;
+
+    private MemoryValue[] numbers;
+
+    private MemoryValue[] names;
+
+    private Token token;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        add = new ExternalMethod(Numbers.class, Numbers.class.getMethod("add", long.class, long.class), 
+                                 new Class<?>[] { long.class, long.class });
+        greet = new ExternalMethod(Numbers.class, Numbers.class.getMethod("greet", String.class), 
+                                   new Class<?>[] { String.class });
+
+        numbers = new MemoryValue[] { new Singular(40L), new Singular(2L) };
+        names = new MemoryValue[] { new Singular("montana", Type.STRING) };
+        token = new Token(TokenType.IDENTIFIER, "call");
+    }
+
+    @Benchmark
+    public MemoryValue callNumbers() {
+        return add.call(numbers, token);
+    }
+
+    @Benchmark
+    public MemoryValue callStrings() {
+        return greet.call(names, token);
+    }
+}
@@ -0,0 +1,51 @@
+package skorupinski.montana.parser;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import skorupinski.montana.Sources;
+import skorupinski.montana.lexer.Lexer;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+    @Param({ "100", "1000" })
+    public int functions;
+
+    private String path;
+
+    private Parser parser;
+
+    @Setup(Level.Trial)
+    public void source() throws IOException {
+        path = Sources.write("parser", Sources.generated(functions));
+    }
+
+    @Setup(Level.Invocation)
+    public void parser() {
+        parser = new Parser(new Lexer(path));
+    }
+
+    @Benchmark
+    public AST parse() {
+        return parser.parse();
+    }
+}
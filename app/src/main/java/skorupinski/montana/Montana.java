@@ -1,13 +1,329 @@
 package skorupinski.montana;
 
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.JMException;
+
+import skorupinski.montana.daemon.Daemon;
+import skorupinski.montana.daemon.DaemonClient;
+import skorupinski.montana.interpreter.AllocationCounters;
+import skorupinski.montana.interpreter.ExecutionCounters;
 import skorupinski.montana.interpreter.Interpreter;
+import skorupinski.montana.interpreter.Output;
+import skorupinski.montana.interpreter.Profiler;
+import skorupinski.montana.interpreter.ScriptCompiler;
+import skorupinski.montana.interpreter.Timings;
+import skorupinski.montana.lexer.Lexer;
+import skorupinski.montana.parser.SyntaxDump;
+import skorupinski.montana.repl.Repl;
+import skorupinski.montana.utils.Error;
 
 public class Montana {
+
+    public static final String USAGE = String.join("\n",
+        "usage: montana [options] <script>",
+        "       montana --repl [--out <file>] [--line-buffered]",
+        "       montana --daemon [--socket <path>] [--idle-timeout <seconds>]",
+        "       montana --client [--socket <path>] [options] <script>",
+        "",
+        "options:",
+        "  --out <file>              write script output to a file",
+        "  --line-buffered           flush script output after every line",
+        "  --profile <file>          write collapsed sampled stacks to a file",
+        "  --profile-interval <us>   sampling interval in microseconds",
+        "  --counters                report per-line and per-node execution counts",
+        "  --allocations             report allocations per value kind and line",
+        "  --timings                 report wall time and allocation per phase",
+        "  --timings-json            report timings as JSON",
+        "  --dump-tokens             dump the token stream",
+        "  --dump-ast                dump the syntax tree",
+        "  --dump-json               write dumps as JSON",
+        "  --dump-out <file>         write dumps to a file instead of stderr");
+
+    private static final Set<String> VALUED_OPTIONS = Set.of("--out", "--profile", "--profile-interval", "--dump-out");
+
+    private static final int PROFILE_TOP = 20;
+
+    private static final int COUNTERS_TOP = 20;
+
+    private static final int ALLOCATIONS_TOP = 20;
+
+    private static void report(Profiler profiler, String path, PrintStream err) throws IOException {
+        if(profiler == null) {
+            return;
+        }
+
+        profiler.stop();
+        profiler.writeCollapsed(path);
+        err.println(profiler.top(PROFILE_TOP));
+    }
+
+    private static void report(ExecutionCounters counters, PrintStream err) {
+        if(counters != null) {
+            err.println(counters.report(COUNTERS_TOP));
+        }
+    }
+    
+    private static void report(AllocationCounters allocations, PrintStream err) {
+        if(allocations == null) {
+            return;
+        }
+
+        allocations.stop();
+        err.println(allocations.summary(ALLOCATIONS_TOP));
+
+        try {
+            allocations.unregister();
+        } catch (JMException e) {
+            err.println(e.getMessage());
+        }
+    }
+
+    private static void report(Timings timings, Timings.Timer total, boolean json, PrintStream err) {
+        if(timings == null) {
+            return;
+        }
+
+        total.stop();
+        err.println(json ? timings.json() : timings.table());
+    }
     
-    public static void main(String[] args) {
-        Interpreter i = new Interpreter();
-        i.evaluate("C:\\Users\\matis\\Desktop\\xx.txt");
+    private static void dump(ScriptCompiler compiler, String path, boolean tokens, boolean tree, boolean json,
+                             String dumpPath, Timings timings, PrintStream err) throws IOException {
+        if(!tokens && !tree) {
+            return;
+        }
+
+        Writer out = dumpPath != null ? Files.newBufferedWriter(Path.of(dumpPath), StandardCharsets.UTF_8)
+                                      : new BufferedWriter(new OutputStreamWriter(err, StandardCharsets.UTF_8));
+        Timings.Timer timer = timings == null ? null : timings.start("dump", path);
+
+        try {
+            if(tokens) {
+                Lexer lexer = new Lexer(path);
+
+                if(json) {
+                    SyntaxDump.tokensJson(lexer, out);
+                } else {
+                    SyntaxDump.tokens(lexer, out);
+                }
+            }
+
+            if(tree) {
+                if(json) {
+                    SyntaxDump.treeJson(compiler.compile(path, timings).tree, out);
+                } else {
+                    SyntaxDump.tree(compiler.compile(path, timings).tree, out);
+                }
+            }
+        } finally {
+            if(dumpPath != null) {
+                out.close();
+            } else {
+                out.flush();
+            }
+
+            if(timer != null) {
+                timer.stop();
+            }
+        }
+    }
+
+    private static String resolve(Path directory, String path) {
+        return path == null ? null : directory.resolve(path).toString();
+    }
+
+    public static int run(String[] args, Path directory, ScriptCompiler compiler, WritableByteChannel stdout,
+                          PrintStream console, PrintStream err, long startup) throws IOException {
+        String path = null;
+        String outPath = null;
+        String profilePath = null;
+        long profileInterval = Profiler.DEFAULT_INTERVAL_MICROS;
+        boolean lineBuffered = false;
+        boolean count = false;
+        boolean time = false;
+        boolean allocate = false;
+        boolean dumpTokens = false;
+        boolean dumpTree = false;
+        boolean dumpJson = false;
+        String dumpPath = null;
+        boolean timingsJson = false;
+
+        for(int arg = 0; arg < args.length; arg++) {
+            if(VALUED_OPTIONS.contains(args[arg]) && arg + 1 == args.length) {
+                err.println("Missing value for option " + args[arg]);
+                err.println(USAGE);
+                return 2;
+            }
+
+            switch(args[arg]) {
+                case "--line-buffered":
+                    lineBuffered = true;
+                    break;
+                case "--out":
+                    outPath = args[++arg];
+                    break;
+                case "--profile":
+                    profilePath = args[++arg];
+                    break;
+                case "--profile-interval":
+                    try {
+                        profileInterval = Long.parseLong(args[++arg]);
+                    } catch (NumberFormatException e) {
+                        err.println("Invalid value for option --profile-interval: " + args[arg]);
+                        err.println(USAGE);
+                        return 2;
+                    }
+                    break;
+                case "--counters":
+                    count = true;
+                    break;
+                case "--allocations":
+                    allocate = true;
+                    break;
+                case "--timings":
+                    time = true;
+                    break;
+                case "--timings-json":
+                    time = true;
+                    timingsJson = true;
+                    break;
+                case "--dump-tokens":
+                    dumpTokens = true;
+                    break;
+                case "--dump-ast":
+                    dumpTree = true;
+                    break;
+                case "--dump-json":
+                    dumpJson = true;
+                    break;
+                case "--dump-out":
+                    dumpPath = args[++arg];
+                    break;
+                default:
+                    if(args[arg].startsWith("--")) {
+                        err.println("Unknown option " + args[arg]);
+                        err.println(USAGE);
+                        return 2;
+                    }
+
+                    path = args[arg];
+                    break;
+            }
+        }
+
+        if(path == null) {
+            err.println(USAGE);
+            return 2;
+        }
+
+        path = resolve(directory, path);
+        outPath = resolve(directory, outPath);
+        profilePath = resolve(directory, profilePath);
+        dumpPath = resolve(directory, dumpPath);
+
+        Output output = outPath != null ? Output.file(outPath, lineBuffered)
+                                        : new Output(stdout, false, Output.DEFAULT_CAPACITY, lineBuffered);
+        Interpreter i = new Interpreter(compiler, output);
+        Profiler profiler = null;
+
+        if(profilePath != null) {
+            profiler = new Profiler(profileInterval);
+            i.profile(profiler);
+            profiler.start();
+        }
+
+        ExecutionCounters counters = null;
+
+        if(count) {
+            counters = new ExecutionCounters();
+            i.attach(counters);
+        }
+
+        AllocationCounters allocations = null;
+
+        if(allocate) {
+            allocations = new AllocationCounters();
+            i.attach(allocations);
+            allocations.start();
+
+            try {
+                allocations.register();
+            } catch (JMException e) {
+                err.println(e.getMessage());
+            }
+        }
+
+        Timings timings = null;
+        Timings.Timer total = null;
+
+        if(time) {
+            timings = new Timings();
+
+            if(startup >= 0) {
+                timings.record("startup", "", startup, Timings.allocatedBytes());
+            }
+            total = timings.start("total", path);
+            i.time(timings);
+        }
+
+        String failure = null;
+
+        try {
+            dump(compiler, path, dumpTokens, dumpTree, dumpJson, dumpPath, timings, err);
+            i.evaluate(path);
+        } catch (Error e) {
+            failure = e.getMessage();
+        } catch (RuntimeException e) {
+            failure = new Error.RuntimeError(path, 0, 0, e).getMessage();
+        } finally {
+            output.close();
+        }
+
+        report(profiler, profilePath, err);
+        report(counters, err);
+        report(allocations, err);
+        report(timings, total, timingsJson, err);
+
+        if(failure != null) {
+            console.println(failure);
+            return 1;
+        }
+
+        console.println(i.memory());
+        return 0;
+    }
+
+    public static void main(String[] args) throws IOException {
+        long startup = TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+
+        if(args.length > 0 && args[0].equals("--daemon")) {
+            Daemon.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        } else if(args.length > 0 && args[0].equals("--client")) {
+            System.exit(DaemonClient.main(Arrays.copyOfRange(args, 1, args.length)));
+        } else if(args.length > 0 && args[0].equals("--repl")) {
+            System.exit(Repl.main(Arrays.copyOfRange(args, 1, args.length)));
+        }
+
+        WritableByteChannel stdout = Channels.newChannel(new FileOutputStream(FileDescriptor.out));
+        Path directory = Path.of("").toAbsolutePath();
 
-        System.out.println(i.memory);
+        System.exit(run(args, directory, new ScriptCompiler(), stdout, System.out, System.err, startup));
     }
 }
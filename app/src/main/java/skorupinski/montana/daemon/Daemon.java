@@ -0,0 +1,172 @@
+package skorupinski.montana.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import skorupinski.montana.Montana;
+import skorupinski.montana.interpreter.ScriptCompiler;
+
+public class Daemon {
+
+    private static final long WATCH_INTERVAL_MILLIS = 1000;
+
+    private final Path socket;
+
+    private final long idleTimeout;
+
+    private final ScriptCompiler compiler;
+
+    private final AtomicInteger active;
+
+    private volatile long lastActivity;
+
+    private ServerSocketChannel server;
+
+    public Daemon(Path socket, long idleTimeoutSeconds) {
+        this.socket = socket;
+        this.idleTimeout = TimeUnit.SECONDS.toNanos(idleTimeoutSeconds);
+        this.compiler = new ScriptCompiler();
+        this.active = new AtomicInteger();
+        this.lastActivity = System.nanoTime();
+    }
+
+    public void serve() throws IOException {
+        Files.deleteIfExists(socket);
+
+        server = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        server.bind(UnixDomainSocketAddress.of(socket));
+
+        if(idleTimeout > 0) {
+            Thread.ofPlatform().daemon().name("montana-idle").start(this::watch);
+        }
+
+        try {
+            while(true) {
+                SocketChannel client;
+
+                try {
+                    client = server.accept();
+                } catch (ClosedChannelException e) {
+                    break;
+                }
+
+                active.incrementAndGet();
+                Thread.ofPlatform().name("montana-client").start(() -> handle(client));
+            }
+        } finally {
+            server.close();
+            Files.deleteIfExists(socket);
+        }
+    }
+
+    public void close() throws IOException {
+        if(server != null) {
+            server.close();
+        }
+    }
+
+    private void watch() {
+        while(server.isOpen()) {
+            try {
+                Thread.sleep(Math.min(WATCH_INTERVAL_MILLIS, TimeUnit.NANOSECONDS.toMillis(idleTimeout)));
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            if(active.get() == 0 && System.nanoTime() - lastActivity > idleTimeout) {
+                try {
+                    close();
+                } catch (IOException e) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static OutputStream stream(DataOutputStream out, byte kind, boolean text) {
+        return text ? new Protocol.Raw(out) : new Protocol.Frames(out, kind);
+    }
+
+    private int run(Request request, DataOutputStream out, boolean text) throws IOException {
+        PrintStream console = new PrintStream(stream(out, Protocol.STDOUT, text), true, StandardCharsets.UTF_8);
+        PrintStream err = new PrintStream(stream(out, Protocol.STDERR, text), true, StandardCharsets.UTF_8);
+
+        try {
+            return Montana.run(request.args, Path.of(request.directory), compiler,
+                               Channels.newChannel(stream(out, Protocol.STDOUT, text)), console, err, -1);
+        } finally {
+            console.flush();
+            err.flush();
+        }
+    }
+
+    private void handle(SocketChannel client) {
+        try(SocketChannel channel = client) {
+            BufferedInputStream buffered = new BufferedInputStream(Channels.newInputStream(channel));
+            DataInputStream in = new DataInputStream(buffered);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+            buffered.mark(1);
+            boolean text = buffered.read() == Protocol.TEXT_REQUEST.charAt(0);
+            buffered.reset();
+
+            int status;
+
+            try {
+                status = run(text ? Request.readText(in) : Request.read(in), out, text);
+            } catch (Throwable e) {
+                PrintStream err = new PrintStream(stream(out, Protocol.STDERR, text), true, StandardCharsets.UTF_8);
+                err.println("Request failed: " + e.getMessage());
+                status = 1;
+            }
+
+            if(text) {
+                Protocol.exitText(out, status);
+            } else {
+                Protocol.exit(out, status);
+            }
+        } catch (IOException e) {
+        } finally {
+            lastActivity = System.nanoTime();
+            active.decrementAndGet();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path socket = Protocol.defaultSocket();
+        long idleTimeout = Protocol.DEFAULT_IDLE_TIMEOUT_SECONDS;
+
+        for(int arg = 0; arg < args.length; arg++) {
+            switch(args[arg]) {
+                case "--socket":
+                    socket = Path.of(args[++arg]);
+                    break;
+                case "--idle-timeout":
+                    idleTimeout = Long.parseLong(args[++arg]);
+                    break;
+                default:
+                    System.err.println("Unknown daemon option " + args[arg]);
+                    return;
+            }
+        }
+
+        System.err.println("Listening on " + socket);
+        new Daemon(socket, idleTimeout).serve();
+    }
+}
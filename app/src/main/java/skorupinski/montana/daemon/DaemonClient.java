@@ -0,0 +1,73 @@
+package skorupinski.montana.daemon;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+public class DaemonClient {
+
+    private DaemonClient() {}
+
+    public static int run(Path socket, String[] args) throws IOException {
+        try(SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+
+            DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+
+            String directory = Path.of("").toAbsolutePath().toString();
+            new Request(args, directory).write(out);
+
+            while(true) {
+                byte kind;
+
+                try {
+                    kind = in.readByte();
+                } catch (EOFException e) {
+                    System.err.println("Daemon closed the connection");
+                    return 1;
+                }
+
+                int length = in.readInt();
+
+                if(kind == Protocol.EXIT) {
+                    return in.readInt();
+                }
+
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+
+                PrintStream target = kind == Protocol.STDERR ? System.err : System.out;
+                target.write(bytes);
+                target.flush();
+            }
+        }
+    }
+
+    public static int main(String[] args) throws IOException {
+        Path socket = Protocol.defaultSocket();
+        int first = 0;
+
+        if(args.length > 1 && args[0].equals("--socket")) {
+            socket = Path.of(args[1]);
+            first = 2;
+        }
+
+        try {
+            return run(socket, Arrays.copyOfRange(args, first, args.length));
+        } catch (IOException e) {
+            System.err.println("No daemon listening on " + socket + ": " + e.getMessage());
+            return 1;
+        }
+    }
+}
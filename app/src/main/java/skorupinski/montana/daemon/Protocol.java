@@ -0,0 +1,99 @@
+package skorupinski.montana.daemon;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+public class Protocol {
+
+    public static final int VERSION = 2;
+
+    public static final String TEXT_REQUEST = "RUN";
+
+    public static final String TEXT_EXIT = "\u001eexit ";
+
+    public static final byte STDOUT = 1;
+
+    public static final byte STDERR = 2;
+
+    public static final byte EXIT = 3;
+
+    public static final long DEFAULT_IDLE_TIMEOUT_SECONDS = 600;
+
+    private Protocol() {}
+
+    public static class Frames extends OutputStream {
+
+        private final DataOutputStream out;
+
+        private final byte kind;
+
+        public Frames(DataOutputStream out, byte kind) {
+            this.out = out;
+            this.kind = kind;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if(length == 0) {
+                return;
+            }
+
+            synchronized(out) {
+                out.writeByte(kind);
+                out.writeInt(length);
+                out.write(bytes, offset, length);
+                out.flush();
+            }
+        }
+    }
+
+    public static class Raw extends OutputStream {
+
+        private final DataOutputStream out;
+
+        public Raw(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            synchronized(out) {
+                out.write(bytes, offset, length);
+                out.flush();
+            }
+        }
+    }
+
+    public static Path defaultSocket() {
+        return Path.of(System.getProperty("java.io.tmpdir"), "montana-" + System.getProperty("user.name") + ".sock");
+    }
+
+    public static void exit(DataOutputStream out, int status) throws IOException {
+        synchronized(out) {
+            out.writeByte(EXIT);
+            out.writeInt(Integer.BYTES);
+            out.writeInt(status);
+            out.flush();
+        }
+    }
+
+    public static void exitText(DataOutputStream out, int status) throws IOException {
+        synchronized(out) {
+            out.write((TEXT_EXIT + status + "\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+}
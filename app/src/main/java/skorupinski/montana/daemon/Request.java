@@ -0,0 +1,96 @@
+package skorupinski.montana.daemon;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+public class Request {
+
+    public final String[] args;
+
+    public final String directory;
+
+    public Request(String[] args, String directory) {
+        this.args = args;
+        this.directory = directory;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String readLine(DataInputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b = in.read();
+
+        while(b != '\n') {
+            if(b < 0) {
+                throw new EOFException("Request ended before a newline");
+            }
+            line.write(b);
+            b = in.read();
+        }
+
+        return line.toString(StandardCharsets.UTF_8);
+    }
+
+    public void write(DataOutputStream out) throws IOException {
+        out.writeInt(Protocol.VERSION);
+        out.writeInt(args.length);
+
+        for(String arg : args) {
+            writeString(out, arg);
+        }
+
+        writeString(out, directory);
+        out.flush();
+    }
+
+    public static Request read(DataInputStream in) throws IOException {
+        int version = in.readInt();
+
+        if(version != Protocol.VERSION) {
+            throw new IOException("Unsupported protocol version " + version);
+        }
+
+        String[] args = new String[in.readInt()];
+
+        for(int i = 0; i < args.length; i++) {
+            args[i] = readString(in);
+        }
+
+        return new Request(args, readString(in));
+    }
+
+    public static Request readText(DataInputStream in) throws IOException {
+        String command = readLine(in);
+
+        if(!command.equals(Protocol.TEXT_REQUEST)) {
+            throw new IOException("Unsupported request " + command);
+        }
+
+        String directory = readLine(in);
+        List<String> args = new ArrayList<>();
+        String arg = readLine(in);
+
+        while(!arg.isEmpty()) {
+            args.add(arg);
+            arg = readLine(in);
+        }
+
+        return new Request(args.toArray(new String[0]), directory);
+    }
+}
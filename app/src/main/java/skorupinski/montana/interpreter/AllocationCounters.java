@@ -0,0 +1,261 @@
+package skorupinski.montana.interpreter;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.parser.AST;
+import skorupinski.montana.utils.Allocations;
+
+public final class AllocationCounters implements Probe, AllocationCountersMXBean {
+
+    public static final String OBJECT_NAME = "skorupinski.montana:type=AllocationCounters";
+
+    private static final AtomicInteger runs = new AtomicInteger();
+
+    private static class Site {
+
+        private final String kind;
+
+        private final Class<?> node;
+
+        private final String file;
+
+        private final int line;
+
+        private Site(String kind, Class<?> node, Token location) {
+            this.kind = kind;
+            this.node = node;
+            this.file = location == null ? null : location.file;
+            this.line = location == null ? 0 : location.line;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if(!(other instanceof Site)) {
+                return false;
+            }
+
+            Site site = (Site) other;
+            return kind.equals(site.kind) && node == site.node && line == site.line && Objects.equals(file, site.file);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, node, file, line);
+        }
+
+        @Override
+        public String toString() {
+            String location = "-";
+
+            if(file != null) {
+                Path name = Path.of(file).getFileName();
+                location = (name == null ? file : name.toString()) + ":" + line;
+            }
+
+            return kind + " in " + node.getSimpleName() + " (" + location + ")";
+        }
+    }
+
+    private static class Frames {
+
+        private AST[] nodes = new AST[64];
+
+        private Token[] locations = new Token[64];
+
+        private int depth;
+
+        private void push(AST node) {
+            if(depth == nodes.length) {
+                nodes = Arrays.copyOf(nodes, depth * 2);
+                locations = Arrays.copyOf(locations, depth * 2);
+            }
+
+            Token token = node.token;
+
+            if(token == null || token.line <= 0) {
+                token = depth == 0 ? null : locations[depth - 1];
+            }
+
+            nodes[depth] = node;
+            locations[depth] = token;
+            depth++;
+        }
+
+        private void pop() {
+            if(depth > 0) {
+                nodes[--depth] = null;
+            }
+        }
+    }
+
+    private final Map<Site, LongAdder> sites;
+
+    private final ThreadLocal<Frames> frames;
+
+    private final Consumer<Object> listener;
+
+    private volatile boolean active;
+
+    private ObjectName name;
+
+    public AllocationCounters() {
+        sites = new ConcurrentHashMap<>();
+        frames = ThreadLocal.withInitial(Frames::new);
+        listener = this::allocated;
+    }
+
+    public void start() {
+        active = true;
+    }
+
+    public void stop() {
+        active = false;
+    }
+
+    public void register() throws JMException {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        name = new ObjectName(OBJECT_NAME + ",run=" + runs.incrementAndGet());
+
+        server.registerMBean(this, name);
+    }
+
+    public void unregister() throws JMException {
+        if(name != null) {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+            name = null;
+        }
+    }
+
+    private void allocated(Object object) {
+        Frames current = frames.get();
+
+        if(!active || current.depth == 0) {
+            return;
+        }
+
+        int top = current.depth - 1;
+        Site site = new Site(object.getClass().getSimpleName(), current.nodes[top].getClass(), current.locations[top]);
+
+        sites.computeIfAbsent(site, key -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void enter(AST node) {
+        Frames current = frames.get();
+
+        if(current.depth == 0) {
+            Allocations.listen(listener);
+        }
+        current.push(node);
+    }
+
+    @Override
+    public void exit(AST node, MemoryValue value) {
+        Frames current = frames.get();
+        current.pop();
+
+        if(current.depth == 0) {
+            Allocations.listen(null);
+        }
+    }
+
+    @Override
+    public long getTotal() {
+        long total = 0;
+
+        for(LongAdder count : sites.values()) {
+            total += count.sum();
+        }
+
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getByKind() {
+        Map<String, Long> kinds = new TreeMap<>();
+
+        for(Map.Entry<Site, LongAdder> entry : sites.entrySet()) {
+            kinds.merge(entry.getKey().kind, entry.getValue().sum(), Long::sum);
+        }
+
+        return kinds;
+    }
+
+    @Override
+    public Map<String, Long> getByNodeType() {
+        Map<String, Long> nodes = new TreeMap<>();
+
+        for(Map.Entry<Site, LongAdder> entry : sites.entrySet()) {
+            nodes.merge(entry.getKey().node.getSimpleName(), entry.getValue().sum(), Long::sum);
+        }
+
+        return nodes;
+    }
+
+    @Override
+    public List<String> top(int limit) {
+        List<Map.Entry<Site, Long>> entries = new ArrayList<>();
+
+        for(Map.Entry<Site, LongAdder> entry : sites.entrySet()) {
+            entries.add(Map.entry(entry.getKey(), entry.getValue().sum()));
+        }
+
+        entries.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+
+        List<String> rows = new ArrayList<>();
+
+        for(int i = 0; i < Math.min(limit, entries.size()); i++) {
+            rows.add(String.format("%12d  %s", entries.get(i).getValue(), entries.get(i).getKey()));
+        }
+
+        return rows;
+    }
+
+    @Override
+    public void reset() {
+        sites.clear();
+    }
+
+    private static void section(StringBuilder summary, String title, Map<String, Long> counts) {
+        summary.append(String.format("%12s  %s%n", "allocations", title));
+
+        counts.entrySet().stream()
+              .sorted((a, b) -> Long.compare(b.getValue(), a.getValue()))
+              .forEach(entry -> summary.append(String.format("%12d  %s%n", entry.getValue(), entry.getKey())));
+
+        summary.append('\n');
+    }
+
+    public String summary(int limit) {
+        StringBuilder summary = new StringBuilder();
+
+        section(summary, "kind", getByKind());
+        section(summary, "node", getByNodeType());
+
+        summary.append(String.format("%12s  %s%n", "allocations", "site"));
+
+        for(String row : top(limit)) {
+            summary.append(row).append('\n');
+        }
+
+        summary.append(getTotal()).append(" allocations");
+
+        return summary.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package skorupinski.montana.interpreter;
+
+import java.util.List;
+import java.util.Map;
+
+public interface AllocationCountersMXBean {
+
+    long getTotal();
+
+    Map<String, Long> getByKind();
+
+    Map<String, Long> getByNodeType();
+
+    List<String> top(int limit);
+
+    void reset();
+}
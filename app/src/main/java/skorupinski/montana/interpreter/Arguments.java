@@ -0,0 +1,20 @@
+package skorupinski.montana.interpreter;
+
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.utils.Error.SyntaxError;
+
+public class Arguments {
+
+    private Arguments() {}
+
+    public static void error(Token token, String name, int expected, int given) {
+        String message = "Method " + name + " takes " + expected + " arguments, but " + given + " were given.";
+        new SyntaxError(token, message).cast();
+    }
+
+    public static void expect(Token token, String name, MemoryValue[] args, int expected) {
+        if(args.length != expected) {
+            error(token, name, expected, args.length);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package skorupinski.montana.interpreter;
+
+import java.math.BigInteger;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+
+public class Arithmetic {
+
+    private Arithmetic() {}
+
+    private static boolean bothInts(Singular x, Singular y) {
+        return x.type == Type.INT && y.type == Type.INT;
+    }
+
+    private static boolean bothSmall(Singular x, Singular y) {
+        return !x.isBig() && !y.isBig();
+    }
+
+    public static boolean isZero(Singular x) {
+        if(x.type == Type.INT) {
+            return !x.isBig() && x.longValue() == 0;
+        }
+        return x.doubleValue() == 0.0;
+    }
+
+    public static Singular add(Singular x, Singular y) {
+        if(bothInts(x, y)) {
+            if(bothSmall(x, y)) {
+                long a = x.longValue();
+                long b = y.longValue();
+                long result = a + b;
+
+                if(((a ^ result) & (b ^ result)) >= 0) {
+                    return new Singular(result);
+                }
+            }
+            return new Singular(x.bigValue().add(y.bigValue()));
+        }
+
+        return new Singular(x.doubleValue() + y.doubleValue());
+    }
+
+    public static Singular subtract(Singular x, Singular y) {
+        if(bothInts(x, y)) {
+            if(bothSmall(x, y)) {
+                long a = x.longValue();
+                long b = y.longValue();
+                long result = a - b;
+
+                if(((a ^ b) & (a ^ result)) >= 0) {
+                    return new Singular(result);
+                }
+            }
+            return new Singular(x.bigValue().subtract(y.bigValue()));
+        }
+
+        return new Singular(x.doubleValue() - y.doubleValue());
+    }
+
+    public static Singular multiply(Singular x, Singular y) {
+        if(bothInts(x, y)) {
+            if(bothSmall(x, y)) {
+                long a = x.longValue();
+                long b = y.longValue();
+                long high = Math.multiplyHigh(a, b);
+                long result = a * b;
+
+                if(high == (result >> 63)) {
+                    return new Singular(result);
+                }
+            }
+            return new Singular(x.bigValue().multiply(y.bigValue()));
+        }
+
+        return new Singular(x.doubleValue() * y.doubleValue());
+    }
+
+    public static Singular divide(Singular x, Singular y) {
+        return new Singular(x.doubleValue() / y.doubleValue());
+    }
+
+    public static Singular floorDivide(Singular x, Singular y) {
+        if(bothInts(x, y)) {
+            if(bothSmall(x, y) && !(x.longValue() == Long.MIN_VALUE && y.longValue() == -1)) {
+                return new Singular(Math.floorDiv(x.longValue(), y.longValue()));
+            }
+
+            BigInteger[] division = x.bigValue().divideAndRemainder(y.bigValue());
+            BigInteger quotient = division[0];
+
+            if(division[1].signum() != 0 && division[1].signum() != y.bigValue().signum()) {
+                quotient = quotient.subtract(BigInteger.ONE);
+            }
+            return new Singular(quotient);
+        }
+
+        return new Singular(Math.floor(x.doubleValue() / y.doubleValue()));
+    }
+
+    public static Singular modulo(Singular x, Singular y) {
+        if(bothInts(x, y)) {
+            if(bothSmall(x, y)) {
+                return new Singular(Math.floorMod(x.longValue(), y.longValue()));
+            }
+
+            BigInteger remainder = x.bigValue().remainder(y.bigValue());
+
+            if(remainder.signum() != 0 && remainder.signum() != y.bigValue().signum()) {
+                remainder = remainder.add(y.bigValue());
+            }
+            return new Singular(remainder);
+        }
+
+        return new Singular(x.doubleValue() % y.doubleValue());
+    }
+
+    public static Singular negate(Singular x) {
+        if(x.type == Type.INT) {
+            if(!x.isBig() && x.longValue() != Long.MIN_VALUE) {
+                return new Singular(-x.longValue());
+            }
+            return new Singular(x.bigValue().negate());
+        }
+
+        return new Singular(-x.doubleValue());
+    }
+
+    public static int compare(Singular x, Singular y) {
+        if(bothInts(x, y)) {
+            if(bothSmall(x, y)) {
+                return Long.compare(x.longValue(), y.longValue());
+            }
+            return x.bigValue().compareTo(y.bigValue());
+        }
+
+        double a = x.doubleValue();
+        double b = y.doubleValue();
+
+        if(a < b) {
+            return -1;
+        } else if(a > b) {
+            return 1;
+        } else if(a == b) {
+            return 0;
+        }
+        return Double.compare(a, b);
+    }
+}
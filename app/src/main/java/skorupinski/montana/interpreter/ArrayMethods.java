@@ -0,0 +1,349 @@
+package skorupinski.montana.interpreter;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.DoubleSummaryStatistics;
+import java.util.LongSummaryStatistics;
+import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.utils.Error.*;
+import skorupinski.montana.utils.Values;
+
+public class ArrayMethods {
+
+    private static final int PARALLEL_THRESHOLD = 1 << 10;
+
+    private static final int PRIMITIVE_THRESHOLD = 1 << 14;
+
+    private final Interpreter interpreter;
+
+    public ArrayMethods(Interpreter interpreter) {
+        this.interpreter = interpreter;
+    }
+
+    private int index(MemoryValue arg, Token token) {
+        if(arg.type != Type.INT && arg.type != Type.FLOAT) {
+            new SyntaxError(token, "Type mismatch.").cast();
+        }
+
+        return (int) ((Singular) arg).longValue();
+    }
+
+    private void checkBounds(Token token, int index, int size) {
+        if(index < 0 || index > size - 1) {
+            new SyntaxError(token, "Index out of bounds.").cast();
+        }
+    }
+
+    private void typeMismatchError(Token token) {
+        new SyntaxError(token, "Type mismatch.").cast();
+    }
+
+    Function function(MemoryValue arg, Token token) {
+        if(arg.type != Type.FUNCTION) {
+            new SyntaxError(token, "Given object is not a function.").cast();
+        }
+
+        return (Function) arg;
+    }
+
+    Array array(MemoryValue[] elements) {
+        Array array = new Array();
+        array.reserve(elements.length);
+
+        for(MemoryValue element : elements) {
+            array.add(element);
+        }
+
+        return array;
+    }
+
+    private ThreadLocal<Interpreter> isolates(Function function) {
+        return ThreadLocal.withInitial(interpreter.isolates(function));
+    }
+
+    MemoryValue[] apply(Function function, int size, IntFunction<MemoryValue> element, Token token) {
+        MemoryValue[] results = new MemoryValue[size];
+
+        if(size < PARALLEL_THRESHOLD) {
+            for(int i = 0; i < size; i++) {
+                results[i] = interpreter.callFunction(function, new MemoryValue[] { element.apply(i) }, token);
+            }
+            return results;
+        }
+
+        ThreadLocal<Interpreter> isolates = isolates(function);
+
+        IntStream.range(0, size).parallel().forEach(i -> {
+            results[i] = isolates.get().callFunction(function, new MemoryValue[] { element.apply(i) }, token);
+        });
+
+        return results;
+    }
+
+    private boolean isTrue(MemoryValue value, Token token) {
+        if(value.type != Type.BOOLEAN) {
+            typeMismatchError(token);
+        }
+
+        return ((Singular) value).value().equals(Values.TRUE);
+    }
+
+    Array filter(Function function, int size, IntFunction<MemoryValue> element, Token token) {
+        MemoryValue[] keep = apply(function, size, element, token);
+
+        Array filtered = new Array();
+
+        for(int i = 0; i < size; i++) {
+            if(isTrue(keep[i], token)) {
+                filtered.add(element.apply(i));
+            }
+        }
+
+        return filtered;
+    }
+
+    /**
+     * Folds the elements with {@code function}, in parallel once the input reaches PARALLEL_THRESHOLD. The
+     * elements are combined in an unspecified grouping, and an initial value is applied once, as
+     * {@code function(init, reduce(rest))}. The result is only well defined when {@code function} is associative.
+     */
+    MemoryValue reduce(Function function, int size, IntFunction<MemoryValue> element, MemoryValue[] args, Token token) {
+        Optional<MemoryValue> reduced;
+
+        if(size < PARALLEL_THRESHOLD) {
+            reduced = IntStream.range(0, size).mapToObj(element).reduce((a, b) -> {
+                return interpreter.callFunction(function, new MemoryValue[] { a, b }, token);
+            });
+        } else {
+            ThreadLocal<Interpreter> isolates = isolates(function);
+
+            reduced = IntStream.range(0, size).parallel().mapToObj(element).reduce((a, b) -> {
+                return isolates.get().callFunction(function, new MemoryValue[] { a, b }, token);
+            });
+        }
+
+        if(args.length == 1) {
+            if(reduced.isEmpty()) {
+                new ValueError(token, "Reduce of empty array with no initial value.").cast();
+            }
+            return reduced.get();
+        }
+
+        if(reduced.isEmpty()) {
+            return args[1];
+        }
+
+        return interpreter.callFunction(function, new MemoryValue[] { args[1], reduced.get() }, token);
+    }
+
+    private Comparator<MemoryValue> naturalOrder(Token token) {
+        return (a, b) -> {
+            if(a instanceof Singular && b instanceof Singular) {
+                Singular x = (Singular) a;
+                Singular y = (Singular) b;
+
+                if(x.isNumber() && y.isNumber()) {
+                    return Arithmetic.compare(x, y);
+                } else if(x.type == y.type && (x.type == Type.STRING || x.type == Type.BOOLEAN)) {
+                    return x.value().compareTo(y.value());
+                }
+            }
+
+            typeMismatchError(token);
+            return 0;
+        };
+    }
+
+    private Comparator<MemoryValue> functionOrder(Function function, int size, Token token) {
+        ThreadLocal<Interpreter> isolates = size < PARALLEL_THRESHOLD ? ThreadLocal.withInitial(() -> interpreter) : isolates(function);
+
+        return (a, b) -> {
+            MemoryValue order = isolates.get().callFunction(function, new MemoryValue[] { a, b }, token);
+
+            if(!(order instanceof Singular) || !((Singular) order).isNumber()) {
+                typeMismatchError(token);
+            }
+
+            return Arithmetic.compare((Singular) order, new Singular(0L));
+        };
+    }
+
+    private LongStream intStream(Array array) {
+        LongStream stream = array.intStream();
+        return array.size() < PRIMITIVE_THRESHOLD ? stream : stream.parallel();
+    }
+
+    private DoubleStream floatStream(Array array) {
+        DoubleStream stream = array.floatStream();
+        return array.size() < PRIMITIVE_THRESHOLD ? stream : stream.parallel();
+    }
+
+    private Singular sum(Array array, Token token) {
+        switch(array.kind()) {
+            case EMPTY:
+                return new Singular(0L);
+            case INT:
+                try {
+                    return new Singular(intStream(array).reduce(0L, Math::addExact));
+                } catch (ArithmeticException e) {
+                    BigInteger total = intStream(array).mapToObj(BigInteger::valueOf).reduce(BigInteger.ZERO, BigInteger::add);
+                    return new Singular(total);
+                }
+            case FLOAT:
+                return new Singular(floatStream(array).sum());
+            case MIXED:
+                Singular total = new Singular(0L);
+
+                for(int i = 0; i < array.size(); i++) {
+                    MemoryValue element = array.get(i);
+
+                    if(!(element instanceof Singular) || !((Singular) element).isNumber()) {
+                        typeMismatchError(token);
+                    }
+                    total = Arithmetic.add(total, (Singular) element);
+                }
+                return total;
+            default:
+                typeMismatchError(token);
+                return null;
+        }
+    }
+
+    private Array minmax(Array array, Token token) {
+        if(array.size() == 0) {
+            new ValueError(token, "Array is empty.").cast();
+        }
+
+        Array bounds = new Array();
+
+        if(array.kind() == Array.Kind.INT) {
+            LongSummaryStatistics stats = intStream(array).summaryStatistics();
+            bounds.add(new Singular(stats.getMin()));
+            bounds.add(new Singular(stats.getMax()));
+
+        } else if(array.kind() == Array.Kind.FLOAT) {
+            DoubleSummaryStatistics stats = floatStream(array).summaryStatistics();
+            bounds.add(new Singular(stats.getMin()));
+            bounds.add(new Singular(stats.getMax()));
+
+        } else {
+            Comparator<MemoryValue> order = naturalOrder(token);
+            MemoryValue min = array.get(0);
+            MemoryValue max = min;
+
+            for(int i = 1; i < array.size(); i++) {
+                MemoryValue element = array.get(i);
+
+                if(order.compare(element, min) < 0) {
+                    min = element;
+                }
+                if(order.compare(element, max) > 0) {
+                    max = element;
+                }
+            }
+            bounds.add(min);
+            bounds.add(max);
+        }
+
+        return bounds;
+    }
+
+    public MemoryValue call(Array array, String name, MemoryValue[] args, Token token) {
+        switch(name) {
+            case "stream":
+            {
+                Arguments.expect(token, name, args, 0);
+                return new Pipeline(array, new ArrayList<>());
+            }
+            case "append":
+            {
+                Arguments.expect(token, name, args, 1);
+                array.add(args[0]);
+                return new Singular(Values.NONE, Type.NONE);
+            }
+            case "pop":
+            {
+                Arguments.expect(token, name, args, 0);
+                checkBounds(token, array.size() - 1, array.size());
+                return array.pop();
+            }
+            case "insert":
+            {
+                Arguments.expect(token, name, args, 2);
+                int i = index(args[0], token);
+                checkBounds(token, i, array.size() + 1);
+                array.insert(i, args[1]);
+                return new Singular(Values.NONE, Type.NONE);
+            }
+            case "remove":
+            {
+                Arguments.expect(token, name, args, 1);
+                int i = index(args[0], token);
+                checkBounds(token, i, array.size());
+                return array.remove(i);
+            }
+            case "reserve":
+            {
+                Arguments.expect(token, name, args, 1);
+                array.reserve(index(args[0], token));
+                return new Singular(Values.NONE, Type.NONE);
+            }
+            case "map":
+            {
+                Arguments.expect(token, name, args, 1);
+                return array(apply(function(args[0], token), array.size(), array::get, token));
+            }
+            case "filter":
+            {
+                Arguments.expect(token, name, args, 1);
+                return filter(function(args[0], token), array.size(), array::get, token);
+            }
+            case "reduce":
+            {
+                if(args.length != 1 && args.length != 2) {
+                    Arguments.error(token, name, 2, args.length);
+                }
+                return reduce(function(args[0], token), array.size(), array::get, args, token);
+            }
+            case "sort":
+            {
+                if(args.length > 1) {
+                    Arguments.error(token, name, 1, args.length);
+                }
+
+                try {
+                    if(args.length == 1) {
+                        array.sort(functionOrder(function(args[0], token), array.size(), token));
+                    } else if(!array.sortNumbers()) {
+                        array.sort(naturalOrder(token));
+                    }
+                } catch (IllegalArgumentException e) {
+                    new ValueError(token, "Comparison function is not consistent.").cast();
+                }
+                return new Singular(Values.NONE, Type.NONE);
+            }
+            case "sum":
+            {
+                Arguments.expect(token, name, args, 0);
+                return sum(array, token);
+            }
+            case "minmax":
+            {
+                Arguments.expect(token, name, args, 0);
+                return minmax(array, token);
+            }
+        }
+
+        new NameError(token, "Array has no method " + name + ".").cast();
+
+        return null;
+    }
+}
@@ -0,0 +1,81 @@
+package skorupinski.montana.interpreter;
+
+import java.util.ArrayList;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.utils.Error.*;
+import skorupinski.montana.utils.Values;
+
+public class ChannelMethods {
+
+    public ChannelMethods() {}
+
+    private Singular bool(boolean value) {
+        return new Singular(value ? Values.TRUE : Values.FALSE, Type.BOOLEAN);
+    }
+
+    static MemoryValue receive(Channel channel, Token token) throws InterruptedException {
+        MemoryValue value = channel.receive();
+
+        if(value == null && channel.failure() != null) {
+            new ValueError(token, channel.failure()).cast();
+        }
+
+        return value;
+    }
+
+    public MemoryValue call(Channel channel, String name, MemoryValue[] args, Token token) {
+        try {
+            switch(name) {
+                case "stream":
+                {
+                    Arguments.expect(token, name, args, 0);
+                    return new Pipeline(channel, new ArrayList<>());
+                }
+                case "send":
+                {
+                    Arguments.expect(token, name, args, 1);
+
+                    if(!channel.send(args[0])) {
+                        new ValueError(token, "Send on closed channel.").cast();
+                    }
+                    return new Singular(Values.NONE, Type.NONE);
+                }
+                case "receive":
+                {
+                    Arguments.expect(token, name, args, 0);
+                    MemoryValue value = receive(channel, token);
+
+                    if(value == null) {
+                        return new Singular(Values.NONE, Type.NONE);
+                    }
+                    return value;
+                }
+                case "close":
+                {
+                    Arguments.expect(token, name, args, 0);
+                    channel.close();
+                    return new Singular(Values.NONE, Type.NONE);
+                }
+                case "closed":
+                {
+                    Arguments.expect(token, name, args, 0);
+                    return bool(channel.isClosed());
+                }
+                case "size":
+                {
+                    Arguments.expect(token, name, args, 0);
+                    return new Singular((long) channel.size());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+
+        new NameError(token, "Channel has no method " + name + ".").cast();
+
+        return null;
+    }
+}
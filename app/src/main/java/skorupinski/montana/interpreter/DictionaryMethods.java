@@ -0,0 +1,54 @@
+package skorupinski.montana.interpreter;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.utils.Error.*;
+import skorupinski.montana.utils.Values;
+
+public class DictionaryMethods {
+
+    public DictionaryMethods() {}
+
+    private Singular key(MemoryValue arg, Token token) {
+        if(!(arg instanceof Singular)) {
+            new SyntaxError(token, "Type mismatch.").cast();
+        }
+
+        return (Singular) arg;
+    }
+
+    public MemoryValue call(Dictionary dictionary, String name, MemoryValue[] args, Token token) {
+        switch(name) {
+            case "has":
+            {
+                Arguments.expect(token, name, args, 1);
+                boolean has = dictionary.contains(key(args[0], token));
+                return new Singular(has ? Values.TRUE : Values.FALSE, Type.BOOLEAN);
+            }
+            case "remove":
+            {
+                Arguments.expect(token, name, args, 1);
+                MemoryValue removed = dictionary.remove(key(args[0], token));
+
+                if(removed == null) {
+                    new ValueError(token, "Key not found.").cast();
+                }
+                return removed;
+            }
+            case "keys":
+            {
+                Arguments.expect(token, name, args, 0);
+                return dictionary.keys();
+            }
+            case "values":
+            {
+                Arguments.expect(token, name, args, 0);
+                return dictionary.values();
+            }
+        }
+
+        new NameError(token, "Dictionary has no method " + name + ".").cast();
+
+        return null;
+    }
+}
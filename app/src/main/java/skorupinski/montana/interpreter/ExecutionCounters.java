@@ -0,0 +1,251 @@
+package skorupinski.montana.interpreter;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.parser.AST;
+
+public class ExecutionCounters implements Probe {
+
+    public static class Counter {
+
+        public final String file;
+
+        public final int line;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder nanos = new LongAdder();
+
+        private Counter(String file, int line) {
+            this.file = file;
+            this.line = line;
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long nanos() {
+            return nanos.sum();
+        }
+    }
+
+    private static class Frames {
+
+        private long[] starts = new long[64];
+
+        private long[] children = new long[64];
+
+        private String[] files = new String[64];
+
+        private int[] lines = new int[64];
+
+        private int[] calls = new int[16];
+
+        private String[] lastFiles = new String[16];
+
+        private int[] lastLines = new int[16];
+
+        private int depth;
+
+        private int callDepth;
+
+        private void grow() {
+            if(depth == starts.length) {
+                starts = Arrays.copyOf(starts, depth * 2);
+                children = Arrays.copyOf(children, depth * 2);
+                files = Arrays.copyOf(files, depth * 2);
+                lines = Arrays.copyOf(lines, depth * 2);
+            }
+        }
+
+        private boolean arrive(String file, int line) {
+            boolean entered = line != lastLines[callDepth] || !file.equals(lastFiles[callDepth]);
+
+            lastFiles[callDepth] = file;
+            lastLines[callDepth] = line;
+
+            return entered;
+        }
+
+        private void call() {
+            if(callDepth + 1 == calls.length) {
+                calls = Arrays.copyOf(calls, calls.length * 2);
+                lastFiles = Arrays.copyOf(lastFiles, calls.length);
+                lastLines = Arrays.copyOf(lastLines, calls.length);
+            }
+
+            calls[++callDepth] = depth;
+            lastFiles[callDepth] = null;
+            lastLines[callDepth] = 0;
+        }
+
+        private void unwind() {
+            while(callDepth > 0 && calls[callDepth] > depth) {
+                callDepth--;
+            }
+        }
+    }
+
+    private final Map<AST, Counter> nodes;
+
+    private final Map<String, Map<Integer, Counter>> lines;
+
+    private final ThreadLocal<Frames> frames;
+
+    public ExecutionCounters() {
+        nodes = new ConcurrentHashMap<>();
+        lines = new ConcurrentHashMap<>();
+        frames = ThreadLocal.withInitial(Frames::new);
+    }
+
+    private Counter lineCounter(String file, int line) {
+        return lines.computeIfAbsent(file, key -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(line, key -> new Counter(file, line));
+    }
+
+    @Override
+    public void enter(AST node) {
+        Frames current = frames.get();
+        current.grow();
+
+        int top = current.depth;
+        Token token = node.token;
+
+        if(token != null && token.line > 0) {
+            current.files[top] = token.file;
+            current.lines[top] = token.line;
+
+            if(current.arrive(token.file, token.line)) {
+                lineCounter(token.file, token.line).count.increment();
+            }
+        } else {
+            current.files[top] = top == 0 ? null : current.files[top - 1];
+            current.lines[top] = top == 0 ? 0 : current.lines[top - 1];
+        }
+
+        current.children[top] = 0;
+        current.depth++;
+        current.starts[top] = System.nanoTime();
+    }
+
+    @Override
+    public void exit(AST node, MemoryValue value) {
+        long now = System.nanoTime();
+        Frames current = frames.get();
+
+        if(current.depth == 0) {
+            return;
+        }
+
+        int top = --current.depth;
+        long elapsed = now - current.starts[top];
+        String file = current.files[top];
+        int line = current.lines[top];
+
+        current.unwind();
+
+        if(top > 0) {
+            current.children[top - 1] += elapsed;
+        }
+
+        Counter counter = nodes.computeIfAbsent(node, key -> new Counter(file, line));
+        counter.count.increment();
+        counter.nanos.add(elapsed);
+
+        if(file != null) {
+            lineCounter(file, line).nanos.add(elapsed - current.children[top]);
+        }
+    }
+
+    @Override
+    public void call(Function function, MemoryValue[] args, Token token) {
+        frames.get().call();
+    }
+
+    @Override
+    public void returned(Function function, MemoryValue value, Token token) {
+        Frames current = frames.get();
+
+        if(current.callDepth > 0) {
+            current.callDepth--;
+        }
+    }
+
+    public Map<AST, Counter> nodes() {
+        return nodes;
+    }
+
+    public Map<String, Map<Integer, Counter>> lines() {
+        return lines;
+    }
+
+    public Counter line(String file, int line) {
+        Map<Integer, Counter> counters = lines.get(file);
+        return counters == null ? null : counters.get(line);
+    }
+
+    private static String fileName(String path) {
+        Path name = Path.of(path).getFileName();
+        return name == null ? path : name.toString();
+    }
+
+    private static String location(Counter counter) {
+        if(counter.file == null) {
+            return "-";
+        }
+
+        return fileName(counter.file) + ":" + counter.line;
+    }
+
+    private static <K> List<Map.Entry<K, Counter>> sorted(Map<K, Counter> counters) {
+        List<Map.Entry<K, Counter>> entries = new ArrayList<>(counters.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().nanos(), a.getValue().nanos()));
+        return entries;
+    }
+
+    private static void row(StringBuilder table, Counter counter, String name) {
+        table.append(String.format("%12d %12.3f  %s%n", counter.count(), counter.nanos() / 1e6, name));
+    }
+
+    public String report(int limit) {
+        StringBuilder table = new StringBuilder();
+
+        Map<String, Counter> byLine = new HashMap<>();
+
+        for(Map<Integer, Counter> file : lines.values()) {
+            for(Counter counter : file.values()) {
+                byLine.put(location(counter), counter);
+            }
+        }
+
+        table.append(String.format("%12s %12s  %s%n", "entries", "self ms", "line"));
+
+        List<Map.Entry<String, Counter>> lineRows = sorted(byLine);
+
+        for(int i = 0; i < Math.min(limit, lineRows.size()); i++) {
+            row(table, lineRows.get(i).getValue(), lineRows.get(i).getKey());
+        }
+
+        table.append(String.format("%n%12s %12s  %s%n", "count", "total ms", "node"));
+
+        List<Map.Entry<AST, Counter>> nodeRows = sorted(nodes);
+
+        for(int i = 0; i < Math.min(limit, nodeRows.size()); i++) {
+            AST node = nodeRows.get(i).getKey();
+            Counter counter = nodeRows.get(i).getValue();
+            row(table, counter, node.getClass().getSimpleName() + " (" + location(counter) + ")");
+        }
+
+        return table.toString();
+    }
+}
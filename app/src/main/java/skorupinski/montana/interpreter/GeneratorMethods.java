@@ -0,0 +1,43 @@
+package skorupinski.montana.interpreter;
+
+import java.util.ArrayList;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.utils.Error.*;
+import skorupinski.montana.utils.Values;
+
+public class GeneratorMethods {
+
+    public GeneratorMethods() {}
+
+    public MemoryValue call(Generator generator, String name, MemoryValue[] args, Token token) {
+        switch(name) {
+            case "stream":
+            {
+                Arguments.expect(token, name, args, 0);
+                return new Pipeline(generator, new ArrayList<>());
+            }
+            case "next":
+            {
+                Arguments.expect(token, name, args, 0);
+                MemoryValue value = generator.next();
+
+                if(value == null) {
+                    return new Singular(Values.NONE, Type.NONE);
+                }
+                return value;
+            }
+            case "close":
+            {
+                Arguments.expect(token, name, args, 0);
+                generator.close();
+                return new Singular(Values.NONE, Type.NONE);
+            }
+        }
+
+        new NameError(token, "Generator has no method " + name + ".").cast();
+
+        return null;
+    }
+}
@@ -1,35 +1,76 @@
 package skorupinski.montana.interpreter;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.List;
 import java.io.File;
+import java.math.BigDecimal;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 import skorupinski.montana.interpreter.MemoryValue.*;
-import skorupinski.montana.lexer.Lexer;
 import skorupinski.montana.lexer.Token;
 import skorupinski.montana.lexer.TokenType;
 import skorupinski.montana.lib.ModuleManager;
 import skorupinski.montana.parser.AST;
-import skorupinski.montana.parser.Parser;
 import skorupinski.montana.parser.AST.*;
+import skorupinski.montana.utils.Events;
 import skorupinski.montana.utils.Error.*;
 import skorupinski.montana.utils.Values;
 
-public class Interpreter {
+public final class Interpreter {
 
-    public Memory memory;
+    private Memory memory;
 
-    private final SemanticAnalyzer analyzer;
+    private final ScriptCompiler compiler;
 
     private final ModuleManager moduleManager;
 
+    private final ArrayMethods arrayMethods;
+
+    private final DictionaryMethods dictionaryMethods;
+
+    private final ChannelMethods channelMethods;
+
+    private final GeneratorMethods generatorMethods;
+
+    private final RangeMethods rangeMethods;
+
+    private final PipelineMethods pipelineMethods;
+
+    private final Output output;
+
     private String directory;
+
+    private Generator.Producer generator;
+
+    private Profiler profiler;
+
+    private Profiler.Frames frames;
+
+    private Probe probe;
+
+    private Timings timings;
     
-    public Interpreter() {
+    public Interpreter(ScriptCompiler compiler, Output output) {
+        this.compiler = compiler;
+        this.output = output;
+
         memory = new Memory(0, null);
-        analyzer = new SemanticAnalyzer();
         moduleManager = new ModuleManager();
+        arrayMethods = new ArrayMethods(this);
+        dictionaryMethods = new DictionaryMethods();
+        channelMethods = new ChannelMethods();
+        generatorMethods = new GeneratorMethods();
+        rangeMethods = new RangeMethods(arrayMethods);
+        pipelineMethods = new PipelineMethods(this);
     }
 
     private void typeMismatchError(Token token) {
@@ -53,19 +94,147 @@ public class Interpreter {
         }
     }
 
+    public Interpreter(ScriptCompiler compiler) {
+        this(compiler, Output.stdout(false));
+    }
+
+    public Interpreter() {
+        this(new ScriptCompiler());
+    }
+
+    public Memory memory() {
+        return memory;
+    }
+
+    public Output output() {
+        return output;
+    }
+
+    public void profile(Profiler profiler) {
+        this.profiler = profiler;
+        this.frames = null;
+    }
+
+    public void time(Timings timings) {
+        this.timings = timings;
+    }
+
+    public void attach(Probe probe) {
+        this.probe = Probe.of(this.probe, probe);
+    }
+
+    public void detach(Probe probe) {
+        this.probe = Probe.without(this.probe, probe);
+    }
+
+    private void written(String name, MemoryValue value, Token token) {
+        if(probe != null) {
+            probe.write(name, value, token);
+        }
+    }
+
+    private Profiler.Frames frames() {
+        Profiler.Frames current = frames;
+
+        if(current == null || !current.current()) {
+            current = profiler.frames();
+            frames = current;
+        }
+
+        return current;
+    }
+
     public MemoryValue visit(AST node) {
+        if(profiler != null && node.token != null) {
+            frames().at(node.token);
+        }
+
+        if(probe != null) {
+            return visitProbed(node);
+        }
+
+        return dispatch(node);
+    }
+
+    private MemoryValue visitProbed(AST node) {
+        Probe probe = this.probe;
+        MemoryValue value = null;
+
+        probe.enter(node);
+
+        try {
+            value = dispatch(node);
+            return value;
+        } finally {
+            probe.exit(node, value);
+        }
+    }
+
+    private static Token locate(AST node) {
+        Token[] location = { node.token };
+
+        if(location[0] == null || location[0].line <= 0) {
+            location[0] = null;
+
+            node.walk(child -> {
+                if(location[0] == null && child.token != null && child.token.line > 0) {
+                    location[0] = child.token;
+                }
+            });
+        }
+
+        return location[0];
+    }
+
+    private MemoryValue dispatch(AST node) {
         String className = node.getClass().getSimpleName();
 
         try {
             Method method = getClass().getMethod("visit" + className, node.getClass());
             return (MemoryValue) method.invoke(this, node);
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+
+            if(cause instanceof skorupinski.montana.utils.Error || cause instanceof Generator.Cancelled) {
+                throw (RuntimeException) cause;
+            }
+            fail(node, cause);
         } catch (Exception e) {
-            e.printStackTrace();
+            fail(node, e);
         }
 
         return null;
     }
 
+    private static void fail(AST node, Throwable cause) {
+        Token location = locate(node);
+
+        if(location != null) {
+            new RuntimeError(location, cause).cast();
+        }
+
+        if(cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+        }
+        throw new IllegalStateException(cause);
+    }
+
+    private void checkNumbers(Singular left, Singular right, BinaryOperator op) {
+        if(!left.isNumber()) {
+            typeMismatchError(op.left.token);
+        }
+
+        if(!right.isNumber()) {
+            typeMismatchError(op.right.token);
+        }
+    }
+
+    private void checkDivisor(Singular right, BinaryOperator op) {
+        if(right.type == Type.INT && Arithmetic.isZero(right)) {
+            new ValueError(op.right.token, "Division by zero.").cast();
+        }
+    }
+
     public MemoryValue visitBinaryOperator(BinaryOperator op) {
         Singular left = (Singular) visit(op.left);
         Singular right = (Singular) visit(op.right);
@@ -78,74 +247,44 @@ public class Interpreter {
                         typeMismatchError(op.right.token);
                     }
     
-                    String a = left.value;
-                    String b = right.value;
-    
-                    return new Singular(a + b, Type.STRING);
+                    return left.concat(right);
     
     
-                } else if(left.type == Type.FLOAT) {
-                    if(right.type != Type.FLOAT) {
+                } else if(left.isNumber()) {
+                    if(!right.isNumber()) {
                         typeMismatchError(op.right.token);
                     }
     
-                    double x = Double.parseDouble(left.value);
-                    double y = Double.parseDouble(right.value);
-    
-                    return new Singular(Double.toString(x + y), Type.FLOAT);
+                    return Arithmetic.add(left, right);
                 }
                 typeMismatchError(op.left.token);
             }
             case MINUS:
             {   
-                if(left.type != Type.FLOAT || right.type != Type.FLOAT) {
-                    typeMismatchError(op.right.token);
-                }
-                double x = Double.parseDouble(left.value);
-                double y = Double.parseDouble(right.value);
-    
-                return new Singular(Double.toString(x - y), Type.FLOAT);
+                checkNumbers(left, right, op);
+                return Arithmetic.subtract(left, right);
             }
             case DIV:
             {
-                if(left.type != Type.FLOAT || right.type != Type.FLOAT) {
-                    typeMismatchError(op.right.token);
-                }
-                double x = Double.parseDouble(left.value);
-                double y = Double.parseDouble(right.value);
-    
-                return new Singular(Double.toString(x / y), Type.FLOAT);
+                checkNumbers(left, right, op);
+                return Arithmetic.divide(left, right);
             }
             case MULT:
             {
-                if(left.type != Type.FLOAT || right.type != Type.FLOAT) {
-                    typeMismatchError(op.right.token);
-                }
-                double x = Double.parseDouble(left.value);
-                double y = Double.parseDouble(right.value);
-    
-                return new Singular(Double.toString(x * y), Type.FLOAT);
+                checkNumbers(left, right, op);
+                return Arithmetic.multiply(left, right);
             }
             case INT_DIV:
             {
-                if(left.type != Type.FLOAT || right.type != Type.FLOAT) {
-                    typeMismatchError(op.right.token);
-                }
-    
-                int x = Integer.parseInt(left.value);
-                int y = Integer.parseInt(right.value);
-    
-                return new Singular(Double.toString(x / y), Type.FLOAT);
+                checkNumbers(left, right, op);
+                checkDivisor(right, op);
+                return Arithmetic.floorDivide(left, right);
             }
             case MODULO:
             {
-                if(left.type != Type.FLOAT || right.type != Type.FLOAT) {
-                    typeMismatchError(op.right.token);
-                }
-    
-                double x = Double.parseDouble(left.value);
-                double y = Double.parseDouble(right.value);
-                return new Singular(Double.toString(x % y), Type.FLOAT);
+                checkNumbers(left, right, op);
+                checkDivisor(right, op);
+                return Arithmetic.modulo(left, right);
             }
         }
         return null;
@@ -155,10 +294,8 @@ public class Interpreter {
         Singular expr = (Singular) visit(op.expr);
 
         if(op.op.typeOf(TokenType.MINUS)) {
-            if(expr.type == Type.FLOAT) {
-    
-                double value = Double.parseDouble(expr.value);
-                return new Singular(Double.toString(-value), Type.FLOAT);
+            if(expr.isNumber()) {
+                return Arithmetic.negate(expr);
     
             } else {
                 typeMismatchError(op.expr.token);
@@ -171,11 +308,14 @@ public class Interpreter {
     public Singular visitValue(Value val) {
         Type type = null;
 
-        if(val.token.typeOf(TokenType.FLOAT)) {
+        if(val.token.typeOf(TokenType.INT)) {
+            type = Type.INT;
+
+        } else if(val.token.typeOf(TokenType.FLOAT)) {
             type = Type.FLOAT;
     
         } else if(val.token.typeOf(TokenType.BOOLEAN)) {
-            type = Type.BOOLEAN;
+            return new Singular(val.value.value.equals(Values.TRUE) ? Values.TRUE : Values.FALSE, Type.BOOLEAN);
     
         } else if(val.token.typeOf(TokenType.STRING)) {
             type = Type.STRING;
@@ -196,75 +336,38 @@ public class Interpreter {
     
             Singular leftMemoryValue = (Singular) visit(left);
             Singular rightMemoryValue = (Singular) visit(right);
-    
-            String leftValue = leftMemoryValue.value;
-            String rightValue = rightMemoryValue.value;
+
+            boolean numeric = leftMemoryValue.isNumber() && rightMemoryValue.isNumber();
  
             if(op.typeOf(TokenType.EQUALS)) {
-                if(leftMemoryValue.type == Type.FLOAT && rightMemoryValue.type == Type.FLOAT) {
-                    double leftVal = Double.parseDouble(leftValue);
-                    double rightVal = Double.parseDouble(rightValue);
-    
-                    if(leftVal != rightVal) {
+                if(numeric) {
+                    if(Arithmetic.compare(leftMemoryValue, rightMemoryValue) != 0) {
                         return new Singular(Values.FALSE, Type.BOOLEAN);
                     }
-                } else if(!leftValue.equals(rightValue)) {
+                } else if(!leftMemoryValue.value().equals(rightMemoryValue.value())) {
                     return new Singular(Values.FALSE, Type.BOOLEAN);
                 }
             } else if(op.typeOf(TokenType.NOT_EQUALS)) {
-                if(leftMemoryValue.type == Type.FLOAT && rightMemoryValue.type == Type.FLOAT) {
-                    double leftVal = Double.parseDouble(leftValue);
-                    double rightVal = Double.parseDouble(rightValue);
-    
-                    if(leftVal == rightVal) {
+                if(numeric) {
+                    if(Arithmetic.compare(leftMemoryValue, rightMemoryValue) == 0) {
                         return new Singular(Values.FALSE, Type.BOOLEAN);
                     }
-                } else if(leftValue.equals(rightValue)) {
+                } else if(leftMemoryValue.value().equals(rightMemoryValue.value())) {
                     return new Singular(Values.FALSE, Type.BOOLEAN);
                 }
-            } else if(op.typeOf(TokenType.MORE_OR_EQ)) {
-                if(leftMemoryValue.type == Type.FLOAT && rightMemoryValue.type == Type.FLOAT) {
-                    double leftVal = Double.parseDouble(leftValue);
-                    double rightVal = Double.parseDouble(rightValue);
-    
-                    if(leftVal < rightVal) {
-                        return new Singular(Values.FALSE, Type.BOOLEAN);
-                    }
-                } else {
-                    typeMismatchError(left.token);
-                }
-            } else if(op.typeOf(TokenType.LESS_OR_EQ)) {
-                if(leftMemoryValue.type == Type.FLOAT && rightMemoryValue.type == Type.FLOAT) {
-                    double leftVal = Double.parseDouble(leftValue);
-                    double rightVal = Double.parseDouble(rightValue);
-    
-                    if(leftVal > rightVal) {
-                        return new Singular(Values.FALSE, Type.BOOLEAN);
-                    }
-                } else {
-                    typeMismatchError(left.token);
-                }
-            } else if(op.typeOf(TokenType.LESS)) {
-                if(leftMemoryValue.type == Type.FLOAT && rightMemoryValue.type == Type.FLOAT) {
-                    double leftVal = Double.parseDouble(leftValue);
-                    double rightVal = Double.parseDouble(rightValue);
-    
-                    if(leftVal >= rightVal) {
-                        return new Singular(Values.FALSE, Type.BOOLEAN);
-                    }
-                } else {
+            } else {
+                if(!numeric) {
                     typeMismatchError(left.token);
                 }
-            } else if(op.typeOf(TokenType.MORE)) {
-                if(leftMemoryValue.type == Type.FLOAT && rightMemoryValue.type == Type.FLOAT) {
-                    double leftVal= Double.parseDouble(leftValue);
-                    double rightVal = Double.parseDouble(rightValue);
-    
-                    if(leftVal <= rightVal) {
-                        return new Singular(Values.FALSE, Type.BOOLEAN);
-                    }
-                } else {
-                    typeMismatchError(left.token);
+
+                int order = Arithmetic.compare(leftMemoryValue, rightMemoryValue);
+
+                if((op.typeOf(TokenType.MORE_OR_EQ) && order < 0) ||
+                   (op.typeOf(TokenType.LESS_OR_EQ) && order > 0) ||
+                   (op.typeOf(TokenType.LESS) && order >= 0) ||
+                   (op.typeOf(TokenType.MORE) && order <= 0)
+                ) {
+                    return new Singular(Values.FALSE, Type.BOOLEAN);
                 }
             }
         }
@@ -272,8 +375,15 @@ public class Interpreter {
         
     }
 
+    private boolean isBlockStatement(AST node) {
+        return node instanceof IfCondition || node instanceof WhileLoop || node instanceof ForLoop || 
+               node instanceof ForEachLoop;
+    }
+
     public MemoryValue visitCompound(Compound comp) {
-        if(memory.memoryLevel == 0) {
+        boolean program = memory.memoryLevel == 0;
+
+        if(program) {
             enterNewMemory();
         }
     
@@ -291,14 +401,14 @@ public class Interpreter {
     
             MemoryValue value = visit(node);
     
-            if(comp.insideFunction && value != null) {
+            if(comp.insideFunction && value != null && isBlockStatement(node)) {
                 leaveMemory();
                 return value;
             } 
         }
     
         leaveMemory();
-        if(memory.memoryLevel == 1) {
+        if(program) {
             Memory object_memory = memory;
             return new LangObject(object_memory);
         }
@@ -313,19 +423,47 @@ public class Interpreter {
         if(left instanceof Variable) {
             Variable var = (Variable) left;
             String varName = var.token.value;
-            memory.put(varName, visit(assign.right));
+            MemoryValue value = visit(assign.right);
+
+            memory.put(varName, value);
+            written(varName, value, var.token);
 
         } else if(left instanceof ArrayAccess) {
             ArrayAccess acc = (ArrayAccess) left;
-            Array arr = (Array) visit(acc.array);
+            MemoryValue container = visit(acc.array);
+
+            if(container.type == Type.DICTIONARY) {
+                Singular key = dictionaryKey(visit(acc.index), acc.index.token);
+                ((Dictionary) container).put(key, visit(assign.right));
+                return;
+            }
+
+            if(container.type != Type.ARRAY) {
+                new SyntaxError(acc.array.token, "Given object is not an array.").cast();
+            }
+
+            Array arr = (Array) container;
 
             Singular index = (Singular) visit(acc.index);
-            if(index.type != Type.FLOAT) {
+            if(!index.isNumber()) {
                 typeMismatchError(acc.index.token);
             }
 
+            int i = (int) index.longValue();
+
+            if(i < 0 || i > arr.size() - 1) {
+                new SyntaxError(acc.index.token, "Index out of bounds.").cast();
+            }
+
             MemoryValue newVal = visit(assign.right);
-            arr.elements.set(Integer.parseInt(index.value), newVal);
+
+            if(arr.kind() == Array.Kind.INT && newVal.type == Type.INT && !((Singular) newVal).isBig()) {
+                arr.setInt(i, ((Singular) newVal).longValue());
+            } else if(arr.kind() == Array.Kind.FLOAT && newVal.type == Type.FLOAT) {
+                arr.setFloat(i, ((Singular) newVal).doubleValue());
+            } else {
+                arr.set(i, newVal);
+            }
         }
     }
 
@@ -342,8 +480,8 @@ public class Interpreter {
     public void visitNoOperator(NoOperator noOp) {}
 
     public Singular visitDoubleCondition(DoubleCondition cond) {
-        String leftValue = ((Singular) visit(cond.left)).value;
-        String rightValue = ((Singular) visit(cond.right)).value;
+        String leftValue = ((Singular) visit(cond.left)).value();
+        String rightValue = ((Singular) visit(cond.right)).value();
     
         if(cond.token.typeOf(TokenType.AND)) {
             if(leftValue.equals(Values.TRUE) && rightValue.equals(Values.TRUE)) {
@@ -370,9 +508,9 @@ public class Interpreter {
             typeMismatchError(neg.statement.token);
         }
     
-        if(value.value == Values.TRUE) {
+        if(value.value() == Values.TRUE) {
             return new Singular(Values.FALSE, Type.BOOLEAN);
-        } else if(value.value == Values.FALSE) {
+        } else if(value.value() == Values.FALSE) {
             return new Singular(Values.TRUE, Type.BOOLEAN);
         }
         
@@ -381,7 +519,11 @@ public class Interpreter {
 
     public void visitVariableDeclaration(VariableDeclaration decl) {
         for(Assign assignment : decl.assignments) {
-            visit(assignment);
+            Variable var = (Variable) assignment.left;
+            MemoryValue value = visit(assignment.right);
+
+            memory.define(var.token.value, value);
+            written(var.token.value, value, var.token);
         }
     }
 
@@ -389,45 +531,98 @@ public class Interpreter {
         AST condition = cond.condition;
         Compound statement = cond.statement;
     
-        String condValue = ((Singular) visit(condition)).value;
+        String condValue = ((Singular) visit(condition)).value();
     
         MemoryValue returnValue = null;
+        Memory enclosing = memory;
     
-        if(condValue == Values.TRUE) {
-            enterNewMemory();
-            returnValue = visit(statement);
-        } else {
-            for(IfCondition else_ : cond.elses) {
-                String else_condValue = ((Singular) visit(else_.condition)).value;
-    
-                if(else_condValue == Values.TRUE) {
-                    enterNewMemory();
-                    return visit(else_.statement);
+        try {
+            if(condValue == Values.TRUE) {
+                enterNewMemory();
+                returnValue = visit(statement);
+            } else {
+                for(IfCondition else_ : cond.elses) {
+                    String else_condValue = ((Singular) visit(else_.condition)).value();
+        
+                    if(else_condValue == Values.TRUE) {
+                        enterNewMemory();
+                        return visit(else_.statement);
+                    }
                 }
             }
+        } finally {
+            memory = enclosing;
         }
         return returnValue;
     }
 
     public void visitPrint(Print print) {
         MemoryValue printableValue = visit(print.printable);
-        System.out.println(printableValue);
+        output.print(printableValue);
     }
 
     public Array visitArrayInit(ArrayInit arrayInit) {
-        List<MemoryValue> elements = new ArrayList<>();
+        Array array = new Array();
 
         for(AST el : arrayInit.elements) {
             MemoryValue element = visit(el);
-            elements.add(element);
+            array.add(element);
         }
     
-        return new Array(elements);
+        return array;
+    }
+
+    private Singular dictionaryKey(MemoryValue key, Token token) {
+        if(!(key instanceof Singular)) {
+            typeMismatchError(token);
+        }
+
+        return (Singular) key;
+    }
+
+    public Dictionary visitDictionaryInit(DictionaryInit dictionaryInit) {
+        Dictionary dictionary = new Dictionary();
+
+        for(int i = 0; i < dictionaryInit.keys.size(); i++) {
+            AST key = dictionaryInit.keys.get(i);
+            MemoryValue value = visit(dictionaryInit.values.get(i));
+
+            dictionary.put(dictionaryKey(visit(key), key.token), value);
+        }
+
+        return dictionary;
     }
 
     public MemoryValue visitArrayAccess(ArrayAccess access) {
         MemoryValue arr = visit(access.array);
 
+        if(arr.type == Type.DICTIONARY) {
+            MemoryValue value = ((Dictionary) arr).get(dictionaryKey(visit(access.index), access.index.token));
+
+            if(value == null) {
+                new ValueError(access.index.token, "Key not found.").cast();
+            }
+
+            return value;
+        }
+
+        if(arr.type == Type.RANGE) {
+            Range range = (Range) arr;
+            MemoryValue index = visit(access.index);
+
+            if(index.type != Type.INT || ((Singular) index).isBig()) {
+                typeMismatchError(access.index.token);
+            }
+
+            long i = ((Singular) index).longValue();
+
+            if(i < 0 || i >= range.size) {
+                new SyntaxError(access.index.token, "Index out of bounds.").cast();
+            }
+
+            return new Singular(range.get(i));
+        }
+
         if(arr.type != Type.ARRAY) {
             new SyntaxError(access.array.token, "Given object is not an array.").cast();
         }
@@ -436,24 +631,40 @@ public class Interpreter {
         
         MemoryValue index = visit(access.index);
     
-        if(index.type != Type.FLOAT) {
+        if(index.type != Type.INT && index.type != Type.FLOAT) {
             typeMismatchError(access.index.token);
         }
     
         Singular _index = (Singular) index;
-        int i = (int) Double.parseDouble(_index.value);
+        int i = (int) _index.longValue();
     
-        if(i > array.elements.size() - 1) {
+        if(i < 0 || i > array.size() - 1) {
             new SyntaxError(access.index.token, "Index out of bounds.").cast();
         }
+
+        if(array.kind() == Array.Kind.INT) {
+            return new Singular(array.getInt(i));
+        } else if(array.kind() == Array.Kind.FLOAT) {
+            return new Singular(array.getFloat(i));
+        }
     
-        return array.elements.get(i);
+        return array.get(i);
     }
 
     public void visitFunctionInit(FunctionInit functionInit) {
         memory.put(functionInit.functionName, new Function(functionInit));
     }
 
+    private MemoryValue[] arguments(FunctionCall funcCall) {
+        MemoryValue[] args = new MemoryValue[funcCall.params.size()];
+
+        for(int i = 0; i < funcCall.params.size(); i++) {
+            args[i] = visit(funcCall.params.get(i));
+        }
+
+        return args;
+    }
+
     public MemoryValue visitFunctionCall(FunctionCall funcCall) {
         MemoryValue func = visit(funcCall.function);
 
@@ -461,155 +672,724 @@ public class Interpreter {
             new SyntaxError(funcCall.function.token, "Given object is not a function.").cast();
         }
     
-        Function function = (Function) func;
+        return callFunction((Function) func, arguments(funcCall), funcCall.function.token);
+    }
+
+    public MemoryValue callFunction(Function function, MemoryValue[] args, Token token) {
+        Memory caller = memory;
         enterNewMemory();
+
+        try {
+            VariableDeclaration funcParams = function.function.params;
     
-        VariableDeclaration funcParams = function.function.params;
-    
-        if(funcParams != null) {
-            visit(funcParams);
+            if(funcParams != null) {
+                if(funcParams.variables.size() != args.length) {
+                    new SyntaxError(token, "Inconsistent number of arguments.").cast();
+                }
     
-            if(funcParams.variables.size() != funcCall.params.size()) {
-                new SyntaxError(funcCall.function.token, "Inconsistent number of arguments.").cast();
+                for(int i = 0; i < funcParams.variables.size(); i++) {
+                    Variable param = funcParams.variables.get(i);
+                    memory.define(param.variable.value, args[i]);
+                    written(param.variable.value, args[i], param.variable);
+                }
+            } else {
+                if(args.length > 0) {
+                    String message = "Function " + function.function.functionName + " has no arguments, but " + 
+                    Integer.toString(args.length) + " were given.";
+                    new SyntaxError(token, message).cast();
+                }
+            }
+
+            if(probe != null) {
+                probe.call(function, args, token);
             }
     
-            for(int i = 0; i < funcParams.variables.size(); i++) {
-                Variable param = funcParams.variables.get(i);
-                AST actualParam = funcCall.params.get(i);
-                
-                Assign assign = new Assign(param, new Token(TokenType.ASSIGN, "="), actualParam);
-                visit(assign);
+            if(function.function.generator) {
+                Interpreter isolate = fork(memory.snapshot(Isolation.captured(memory, function, args)));
+                Compound block = function.function.block;
+
+                Generator lazy = new Generator(generator -> {
+                    isolate.generator = generator;
+
+                    if(isolate.profiler != null) {
+                        isolate.frames().push(function.function.functionName);
+                    }
+
+                    try {
+                        isolate.visit(block);
+                    } finally {
+                        if(isolate.profiler != null) {
+                            isolate.frames().pop();
+                        }
+                    }
+                });
+
+                if(probe != null) {
+                    probe.returned(function, lazy, token);
+                }
+
+                return lazy;
             }
-        } else {
-            if(funcCall.params.size() > 0) {
-                String message = "Function " + function.function.functionName + " has no arguments, but " + 
-                Integer.toString(funcCall.params.size()) + " were given.";
-                new SyntaxError(funcCall.function.token, message).cast();
+
+            MemoryValue ret = null;
+
+            if(profiler != null) {
+                frames().push(function.function.functionName);
             }
-        }
-    
-        MemoryValue ret = null;
 
-        if(function.function.block != null) {
-            ret = visit(function.function.block);
-        } else {
-            MemoryValue[] real = new MemoryValue[funcCall.params.size()];
-            for(int i = 0; i < funcCall.params.size(); i++) {
-                real[i] = visit(funcCall.params.get(i));
+            Events.FunctionCall event = Events.functionCalls() ? new Events.FunctionCall() : null;
+
+            if(event != null) {
+                event.begin();
             }
 
-            ret = function.function.method.call(real);
-        }
+            try {
+                if(function.function.block != null) {
+                    ret = visit(function.function.block);
+                } else {
+                    ret = function.function.method.call(args, token, directory);
+                }
+            } finally {
+                if(profiler != null) {
+                    frames().pop();
+                }
 
-    
-        leaveMemory();
-    
-        if(ret == null) {
-            return new Singular(Values.NONE, Type.NONE);
-        }
-        
-        return ret;
-    }
+                if(event != null) {
+                    event.end();
 
-    public MemoryValue visitReturn(Return ret) {
-        return visit(ret.returnable);
+                    if(event.shouldCommit()) {
+                        event.function = function.function.functionName;
+                        event.file = token.file;
+                        event.line = token.line;
+                        event.commit();
+                    }
+                }
+            }
+
+            if(ret == null) {
+                ret = new Singular(Values.NONE, Type.NONE);
+            }
+
+            if(probe != null) {
+                probe.returned(function, ret, token);
+            }
+
+            return ret;
+        } finally {
+            memory = caller;
+        }
     }
 
-    public MemoryValue visitWhileLoop(WhileLoop whileLoop) {
-        AST condition = whileLoop.condition;
-        Compound statement = whileLoop.statement;
-    
-        String condValue = ((Singular) visit(condition)).value;
-    
-        MemoryValue returnValue = null;
-    
-        while(condValue == Values.TRUE) {
-            enterNewMemory();
-            returnValue = visit(statement);
-    
-            condValue = ((Singular) visit(condition)).value;
-        } 
-    
-        return returnValue;
+    Interpreter fork() {
+        return fork(memory.snapshot());
     }
 
-    public MemoryValue visitForLoop(ForLoop forLoop) {
-        enterNewMemory();
+    Interpreter fork(Memory scope) {
+        Interpreter isolate = new Interpreter(compiler, output);
+        isolate.directory = directory;
+        isolate.memory = scope;
+        isolate.profiler = profiler;
+        isolate.probe = probe;
+        isolate.timings = timings;
 
-        AST init = forLoop.init;
-        visit(init);
+        return isolate;
+    }
 
-        Memory backup = null;
+    Supplier<Interpreter> isolates(Function function) {
+        Set<String> names = Isolation.captured(memory, function, new MemoryValue[0]);
+        Memory scope = memory.snapshot(names);
 
-        Assign assign = forLoop.assign;
-        Compound statement = forLoop.statement;
-        AST condition = forLoop.condition;
-    
-        String condValue = ((Singular) visit(condition)).value;
-    
-        MemoryValue returnValue = null;
-    
-        while(condValue == Values.TRUE) {
-            backup = memory;
+        return () -> fork(scope.capture(names, new IdentityHashMap<>()));
+    }
 
-            returnValue = visit(statement);
+    private MemoryValue visitIn(Memory scope, AST node) {
+        Memory enclosingMemory = memory;
+        memory = scope;
 
-            memory = backup;
-            visit(assign);
-            condValue = ((Singular) visit(condition)).value;
-        } 
-    
-        return returnValue;
+        try {
+            return visit(node);
+        } finally {
+            memory = enclosingMemory;
+        }
     }
 
-    public Singular visitCastValue(CastValue cast) {
-        MemoryValue memoryVal = visit(cast.value);
+    public LangFuture visitSpawn(Spawn spawn) {
+        AST target = spawn.call;
+        Memory scope = memory;
 
-        if(memoryVal instanceof Singular) {
-            Singular memoryValue = (Singular) memoryVal;
+        while(target instanceof ObjectDive) {
+            ObjectDive dive = (ObjectDive) target;
+            MemoryValue parent = visitIn(scope, dive.parent);
 
-            String value = memoryValue.value;
+            if(!(parent instanceof LangObject)) {
+                new ValueError(dive.token, "Variable is not object type.").cast();
+            }
+
+            scope = ((LangObject) parent).objectMemory;
+            target = dive.child;
+        }
+
+        FunctionCall call = (FunctionCall) target;
+        MemoryValue func = visitIn(scope, call.function);
+
+        if(func.type != Type.FUNCTION) {
+            new SyntaxError(call.function.token, "Given object is not a function.").cast();
+        }
+
+        Function function = (Function) func;
+        Map<MemoryValue, MemoryValue> copies = new IdentityHashMap<>();
+        MemoryValue[] args = Isolation.isolate(arguments(call), copies);
+        Interpreter isolate = fork(scope.capture(Isolation.captured(scope, function, args), copies));
+
+        CompletableFuture<MemoryValue> result = new CompletableFuture<>();
+
+        Thread.ofVirtual().name("montana-" + function.function.functionName).start(() -> {
+            try {
+                result.complete(isolate.callFunction(function, args, call.function.token));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+
+        return new LangFuture(result);
+    }
+
+    public MemoryValue visitAwait(Await await) {
+        MemoryValue value = visit(await.future);
+
+        if(value.type != Type.FUTURE) {
+            new ValueError(await.future.token, "Value is not a future.").cast();
+        }
+
+        try {
+            return ((LangFuture) value).result.get();
+        } catch (ExecutionException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Channel visitChannelInit(ChannelInit channelInit) {
+        if(channelInit.capacity == null) {
+            return new Channel(0);
+        }
+
+        MemoryValue capacity = visit(channelInit.capacity);
+
+        if(capacity.type != Type.INT) {
+            typeMismatchError(channelInit.token);
+        }
+
+        long size = ((Singular) capacity).longValue();
+
+        if(size < 1 || size > Integer.MAX_VALUE || ((Singular) capacity).isBig()) {
+            new ValueError(channelInit.token, "Channel capacity must be a positive int.").cast();
+        }
+
+        return new Channel((int) size);
+    }
+
+    private Array selected(long index, MemoryValue value) {
+        Array pair = new Array();
+        pair.add(new Singular(index));
+        pair.add(value);
+
+        return pair;
+    }
+
+    public Array visitSelect(Select select) {
+        Channel[] channels = new Channel[select.channels.size()];
+
+        for(int i = 0; i < channels.length; i++) {
+            MemoryValue value = visit(select.channels.get(i));
+
+            if(value.type != Type.CHANNEL) {
+                new ValueError(select.token, "Value is not a channel.").cast();
+            }
+            channels[i] = (Channel) value;
+        }
+
+        Semaphore signal = new Semaphore(0);
+
+        for(Channel channel : channels) {
+            channel.watch(signal);
+        }
+
+        try {
+            int offset = ThreadLocalRandom.current().nextInt(channels.length);
+
+            while(true) {
+                boolean open = false;
+
+                for(int k = 0; k < channels.length; k++) {
+                    int i = (offset + k) % channels.length;
+                    MemoryValue value = channels[i].poll();
+
+                    if(value != null) {
+                        return selected(i, value);
+                    } else if(!channels[i].isDrained()) {
+                        open = true;
+                    } else if(channels[i].failure() != null) {
+                        new ValueError(select.token, channels[i].failure()).cast();
+                    }
+                }
+
+                if(!open) {
+                    return selected(-1, new Singular(Values.NONE, Type.NONE));
+                }
+
+                signal.acquire();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } finally {
+            for(Channel channel : channels) {
+                channel.unwatch(signal);
+            }
+        }
+    }
+
+    private long rangeBound(AST bound, Token token) {
+        MemoryValue value = visit(bound);
+
+        if(value.type != Type.INT || ((Singular) value).isBig()) {
+            new ValueError(token, "Range bounds must be int.").cast();
+        }
+
+        return ((Singular) value).longValue();
+    }
+
+    public Range visitRangeInit(RangeInit rangeInit) {
+        List<AST> bounds = rangeInit.bounds;
+
+        long start = bounds.size() > 1 ? rangeBound(bounds.get(0), rangeInit.token) : 0;
+        long end = rangeBound(bounds.get(bounds.size() > 1 ? 1 : 0), rangeInit.token);
+        long step = bounds.size() > 2 ? rangeBound(bounds.get(2), rangeInit.token) : 1;
+
+        if(step == 0) {
+            new ValueError(rangeInit.token, "Range step cannot be zero.").cast();
+        }
+
+        try {
+            return new Range(start, end, step);
+        } catch (ArithmeticException e) {
+            new ValueError(rangeInit.token, "Range is too large.").cast();
+        }
+
+        return null;
+    }
+
+    public MemoryValue visitYield(Yield yield) {
+        if(generator == null) {
+            new SyntaxError(yield.token, "Yield statement outside of a generator.").cast();
+        }
+
+        MemoryValue value = visit(yield.value);
+        generator.produce(value);
+        return null;
+    }
+
+    Supplier<MemoryValue> cursor(MemoryValue iterable, Token token) {
+        if(iterable instanceof Pipeline) {
+            return pipelineMethods.cursor((Pipeline) iterable, token);
+
+        } else if(iterable instanceof Generator) {
+            return ((Generator) iterable)::next;
+
+        } else if(iterable instanceof Range) {
+            Range range = (Range) iterable;
+            long[] index = { 0 };
+
+            return () -> index[0] < range.size ? new Singular(range.get(index[0]++)) : null;
+
+        } else if(iterable instanceof Array || iterable instanceof Dictionary) {
+            Array array = iterable instanceof Array ? (Array) iterable : ((Dictionary) iterable).keys();
+            int[] index = { 0 };
+
+            return () -> index[0] < array.size() ? array.get(index[0]++) : null;
+
+        } else if(iterable instanceof Channel) {
+            Channel channel = (Channel) iterable;
+
+            return () -> {
+                try {
+                    return ChannelMethods.receive(channel, token);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                }
+            };
+        }
+
+        new ValueError(token, "Value is not iterable.").cast();
+
+        return null;
+    }
+
+    public MemoryValue visitForEachLoop(ForEachLoop loop) {
+        MemoryValue iterable = visit(loop.iterable);
+        Supplier<MemoryValue> cursor = cursor(iterable, loop.token);
+        String name = loop.variable.variable.value;
+
+        Memory enclosing = memory;
+        enterNewMemory();
+        Memory frame = memory;
+
+        MemoryValue returnValue = null;
+
+        try {
+            MemoryValue element = cursor.get();
+
+            while(element != null) {
+                frame.define(name, element);
+                written(name, element, loop.variable.variable);
+                returnValue = visit(loop.statement);
+
+                memory = frame;
+
+                if(returnValue != null) {
+                    break;
+                }
+
+                element = cursor.get();
+            }
+        } finally {
+            memory = enclosing;
+
+            if(iterable instanceof Generator && loop.iterable instanceof FunctionCall) {
+                ((Generator) iterable).close();
+            }
+        }
+
+        return returnValue;
+    }
+
+    public MemoryValue visitReturn(Return ret) {
+        return visit(ret.returnable);
+    }
+
+    public MemoryValue visitWhileLoop(WhileLoop whileLoop) {
+        AST condition = whileLoop.condition;
+        Compound statement = whileLoop.statement;
     
-            switch(cast.type.type) {
-                case CAST_FLOAT:
-                {
-                    int dots = 0;
+        String condValue = ((Singular) visit(condition)).value();
     
-                    for(char c : value.toCharArray()) {
-                        if(!Character.isDigit(c) && c != '.') {
-                            valueError(cast.type);
-                        }
+        MemoryValue returnValue = null;
+        Memory enclosing = memory;
+    
+        try {
+            while(condValue == Values.TRUE) {
+                enterNewMemory();
+                returnValue = visit(statement);
+
+                if(returnValue != null) {
+                    break;
+                }
+        
+                condValue = ((Singular) visit(condition)).value();
+            }
+        } finally {
+            memory = enclosing;
+        }
     
-                        if(c == '.') {
-                            dots++;
+        return returnValue;
+    }
+
+    public MemoryValue visitForLoop(ForLoop forLoop) {
+        Memory enclosing = memory;
+        enterNewMemory();
+
+        Memory backup = null;
+
+        Assign assign = forLoop.assign;
+        Compound statement = forLoop.statement;
+        AST condition = forLoop.condition;
     
-                            if(dots > 1) {
-                                valueError(cast.type);
-                            }
-                        }
+        MemoryValue returnValue = null;
+    
+        try {
+            visit(forLoop.init);
+
+            String condValue = ((Singular) visit(condition)).value();
+
+            while(condValue == Values.TRUE) {
+                backup = memory;
+
+                returnValue = visit(statement);
+
+                memory = backup;
+
+                if(returnValue != null) {
+                    break;
+                }
+
+                visit(assign);
+                condValue = ((Singular) visit(condition)).value();
+            }
+        } finally {
+            memory = enclosing;
+        }
+    
+        return returnValue;
+    }
+
+    private void parallelFormError(Token token) {
+        String message = "Parallel loop must have the form have i = a; i < b; i = i + c.";
+        new ValueError(token, message).cast();
+    }
+
+    private long parallelBound(AST node, Token token) {
+        MemoryValue value = visit(node);
+
+        if(value.type != Type.INT || ((Singular) value).isBig()) {
+            parallelFormError(token);
+        }
+
+        return ((Singular) value).longValue();
+    }
+
+    private long iterations(Token op, long start, long end, long step) {
+        long distance;
+
+        switch(op.type) {
+            case LESS:
+                distance = step > 0 ? end - start : 0;
+                break;
+            case LESS_OR_EQ:
+                distance = step > 0 ? end - start + 1 : 0;
+                break;
+            case MORE:
+                distance = step < 0 ? start - end : 0;
+                break;
+            case MORE_OR_EQ:
+                distance = step < 0 ? start - end + 1 : 0;
+                break;
+            default:
+                return -1;
+        }
+
+        if(distance <= 0) {
+            return 0;
+        }
+
+        long stride = Math.abs(step);
+        return (distance + stride - 1) / stride;
+    }
+
+    private long[] parallelRange(ParallelForLoop parallel, String name) {
+        ForLoop loop = parallel.loop;
+        Memory enclosing = memory;
+        enterNewMemory();
+
+        try {
+            visit(loop.init);
+
+            MemoryValue first = memory.get(name, true);
+
+            if(first.type != Type.INT || ((Singular) first).isBig()) {
+                parallelFormError(parallel.token);
+            }
+
+            long start = ((Singular) first).longValue();
+
+            if(!(loop.condition instanceof Compare)) {
+                parallelFormError(parallel.token);
+            }
+
+            Compare condition = (Compare) loop.condition;
+
+            if(condition.comparables.size() != 2 || !(condition.comparables.get(0) instanceof Variable)
+               || !((Variable) condition.comparables.get(0)).variable.value.equals(name)) {
+                parallelFormError(parallel.token);
+            }
+
+            if(!(loop.assign.right instanceof BinaryOperator)) {
+                parallelFormError(parallel.token);
+            }
+
+            BinaryOperator stepOp = (BinaryOperator) loop.assign.right;
+
+            if(!(loop.assign.left instanceof Variable) || !(stepOp.left instanceof Variable)
+               || !((Variable) loop.assign.left).variable.value.equals(name)
+               || !((Variable) stepOp.left).variable.value.equals(name)
+               || !(stepOp.op.typeOf(TokenType.PLUS) || stepOp.op.typeOf(TokenType.MINUS))) {
+                parallelFormError(parallel.token);
+            }
+
+            long end = parallelBound(condition.comparables.get(1), parallel.token);
+            long step = parallelBound(stepOp.right, parallel.token);
+
+            if(stepOp.op.typeOf(TokenType.MINUS)) {
+                step = -step;
+            }
+
+            long count = iterations(condition.operators.get(0), start, end, step);
+
+            if(step == 0 || count < 0) {
+                parallelFormError(parallel.token);
+            }
+
+            return new long[] { start, step, count };
+        } finally {
+            memory = enclosing;
+        }
+    }
+
+    public MemoryValue visitParallelForLoop(ParallelForLoop parallel) {
+        String name = ((VariableDeclaration) parallel.loop.init).variables.get(0).variable.value;
+        long[] range = parallelRange(parallel, name);
+        long start = range[0];
+        long step = range[1];
+        long count = range[2];
+
+        int reductions = parallel.reductions.size();
+        MemoryValue[] initial = new MemoryValue[reductions];
+        MemoryValue[] identities = new MemoryValue[reductions];
+
+        for(int i = 0; i < reductions; i++) {
+            initial[i] = visit(parallel.reductions.get(i));
+            identities[i] = ParallelLoop.identity(parallel.operators.get(i), initial[i]);
+        }
+
+        if(count == 0) {
+            return null;
+        }
+
+        long threshold = Math.max(1, count / (ForkJoinPool.getCommonPoolParallelism() * 4L));
+        ParallelLoop task = new ParallelLoop(this, parallel, start, step, 0, count, threshold, identities);
+
+        MemoryValue[] totals = ForkJoinPool.commonPool().invoke(task);
+
+        for(int i = 0; i < reductions; i++) {
+            Token op = parallel.operators.get(i);
+            Token reduction = parallel.reductions.get(i).variable;
+            MemoryValue total = ParallelLoop.combine(op, initial[i], totals[i]);
+
+            memory.put(reduction.value, total);
+            written(reduction.value, total, reduction);
+        }
+
+        return null;
+    }
+
+    MemoryValue[] runParallelRange(ParallelForLoop parallel, long start, long step, long from, long to,
+                                   MemoryValue[] identities) {
+        String name = ((VariableDeclaration) parallel.loop.init).variables.get(0).variable.value;
+        Memory frame = memory;
+
+        for(int i = 0; i < identities.length; i++) {
+            frame.define(parallel.reductions.get(i).variable.value, identities[i]);
+        }
+
+        if(profiler != null) {
+            frames().push("<parallel>");
+        }
+
+        try {
+            for(long k = from; k < to; k++) {
+                enterNewMemory();
+                memory.define(name, new Singular(start + k * step));
+                visit(parallel.loop.statement);
+
+                memory = frame;
+            }
+        } finally {
+            memory = frame;
+
+            if(profiler != null) {
+                frames().pop();
+            }
+        }
+
+        MemoryValue[] totals = new MemoryValue[identities.length];
+
+        for(int i = 0; i < totals.length; i++) {
+            totals[i] = frame.get(parallel.reductions.get(i).variable.value, true);
+        }
+
+        return totals;
+    }
+
+    private void validateNumber(String value, Token token) {
+        int dots = 0;
+        int digits = 0;
+
+        for(int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            if(c == '-' && i == 0) {
+                continue;
+            }
+
+            if(!Character.isDigit(c) && c != '.') {
+                valueError(token);
+            }
+
+            if(c == '.') {
+                dots++;
+
+                if(dots > 1) {
+                    valueError(token);
+                }
+            } else {
+                digits++;
+            }
+        }
+
+        if(digits == 0) {
+            valueError(token);
+        }
+    }
+
+    private Singular truncate(double number, Token token) {
+        if(Double.isNaN(number) || Double.isInfinite(number)) {
+            valueError(token);
+        }
+
+        if(Math.abs(number) < 9.0E18) {
+            return new Singular((long) number);
+        }
+        return new Singular(new BigDecimal(number).toBigInteger());
+    }
+
+    public Singular visitCastValue(CastValue cast) {
+        MemoryValue memoryVal = visit(cast.value);
+
+        if(memoryVal instanceof Singular) {
+            Singular memoryValue = (Singular) memoryVal;
+
+            String value = memoryValue.value();
+    
+            switch(cast.type.type) {
+                case CAST_FLOAT:
+                {
+                    if(memoryValue.isNumber()) {
+                        return new Singular(memoryValue.doubleValue());
                     }
-                    String newValue = Double.toString(Double.parseDouble(value));
-                    return new Singular(newValue, Type.FLOAT);
+
+                    validateNumber(value, cast.type);
+                    return new Singular(value, Type.FLOAT);
                 }
                 case CAST_INT:
                 {
-                    int dots = 0;
-    
-                    for(char c : value.toCharArray()) {
-                        if(!Character.isDigit(c) && c != '.') {
-                            valueError(cast.type);
-                        }
-    
-                        if(c == '.') {
-                            dots++;
-    
-                            if(dots > 1) {
-                                valueError(cast.type);
-                            }
-                        }
+                    if(memoryValue.type == Type.INT) {
+                        return memoryValue;
+                    } else if(memoryValue.type == Type.FLOAT) {
+                        return truncate(memoryValue.doubleValue(), cast.type);
+                    }
+
+                    validateNumber(value, cast.type);
+
+                    if(value.indexOf('.') >= 0) {
+                        return truncate(NumberFormat.parseDouble(value), cast.type);
                     }
-                    String newValue = Integer.toString(Integer.parseInt(value));
-                    return new Singular(newValue, Type.FLOAT);
+                    return new Singular(value, Type.INT);
                 }
                 case CAST_STRING:
                 {
@@ -624,6 +1404,45 @@ public class Interpreter {
                     valueError(cast.type);
                 }
             }
+        } else if(memoryVal instanceof Dictionary) {
+            Dictionary dictionary = (Dictionary) memoryVal;
+
+            switch(cast.type.type) {
+                case CAST_STRING:
+                {
+                    return new Singular(dictionary.toString(), Type.STRING);
+                }
+                case CAST_INT:
+                {
+                    return new Singular((long) dictionary.size());
+                }
+                case CAST_FLOAT:
+                {
+                    return new Singular((double) dictionary.size());
+                }
+                case CAST_BOOL:
+                {
+                    if(dictionary.size() > 0) {
+                        return new Singular(Values.TRUE, Type.BOOLEAN);
+                    }
+                    return new Singular(Values.FALSE, Type.BOOLEAN);
+                }
+            }
+        } else if(memoryVal instanceof Range) {
+            Range range = (Range) memoryVal;
+
+            switch(cast.type.type) {
+                case CAST_STRING:
+                    return new Singular(range.toString(), Type.STRING);
+                case CAST_INT:
+                    return new Singular(range.size);
+                case CAST_FLOAT:
+                    return new Singular((double) range.size);
+                case CAST_BOOL:
+                    return new Singular(range.size > 0 ? Values.TRUE : Values.FALSE, Type.BOOLEAN);
+                default:
+                    break;
+            }
         } else if(memoryVal instanceof Array) {
             Array array = (Array) memoryVal;
 
@@ -634,17 +1453,17 @@ public class Interpreter {
                 }
                 case CAST_INT:
                 {
-                    int length = array.elements.size();
-                    return new Singular(Integer.toString(length), Type.FLOAT);
+                    int length = array.size();
+                    return new Singular((long) length);
                 }
                 case CAST_FLOAT:
                 {
-                    double length = array.elements.size();
-                    return new Singular(Double.toString(length), Type.FLOAT);
+                    double length = array.size();
+                    return new Singular(length);
                 }
                 case CAST_BOOL:
                 {
-                    int length = array.elements.size();
+                    int length = array.size();
                     if(length > 0) {
                         return new Singular(Values.TRUE, Type.BOOLEAN);
                     }
@@ -662,23 +1481,44 @@ public class Interpreter {
         String name = im.name;
         String path = im.path;
     
-        if(im.token.typeOf(TokenType.BUILT_IN_LIB)) {
-            moduleManager.importModule(path, memory, name);
+        Events.Import event = new Events.Import(path, name, im.token.typeOf(TokenType.BUILT_IN_LIB));
+        event.begin();
+
+        try {
+            if(im.token.typeOf(TokenType.BUILT_IN_LIB)) {
+                Timings.Timer timer = timings == null ? null : timings.start("import", "$" + path);
+
+                try {
+                    moduleManager.importModule(path, memory, name);
+                } finally {
+                    if(timer != null) {
+                        timer.stop();
+                    }
+                }
             
-        } else {
-            String newPath = path;
+            } else {
+                String newPath = path;
 
-            if(!new File(path).isAbsolute()) {
-                newPath = directory;
-                if(!(newPath.endsWith("\\") || newPath.endsWith("/"))) {
-                    newPath += '/';
+                if(!new File(path).isAbsolute()) {
+                    newPath = directory;
+                    if(!(newPath.endsWith("\\") || newPath.endsWith("/"))) {
+                        newPath += '/';
+                    }
+                    newPath += path;
                 }
-                newPath += path;
-            }
         
-            LangObject object = (LangObject) new Interpreter().evaluate(newPath);
+                Interpreter module = new Interpreter(compiler, output);
+                module.profile(profiler);
+                module.attach(probe);
+                module.time(timings);
+
+                LangObject object = (LangObject) module.evaluate(newPath);
         
-            memory.put(name, object);
+                memory.put(name, object);
+                written(name, object, im.token);
+            }
+        } finally {
+            event.commit();
         }
     }
 
@@ -689,11 +1529,60 @@ public class Interpreter {
             LangObject object = (LangObject) parent;
             Memory enclosingMemory = memory;
             memory = object.objectMemory;
-    
-            MemoryValue value = visit(dive.child);
 
-            memory = enclosingMemory;
-            return value;
+            try {
+                return visit(dive.child);
+            } finally {
+                memory = enclosingMemory;
+            }
+
+        } else if(parent instanceof Array && dive.child instanceof FunctionCall) {
+            FunctionCall call = (FunctionCall) dive.child;
+
+            if(call.function instanceof Variable) {
+                Token method = call.function.token;
+                return arrayMethods.call((Array) parent, method.value, arguments(call), method);
+            }
+
+        } else if(parent instanceof Dictionary && dive.child instanceof FunctionCall) {
+            FunctionCall call = (FunctionCall) dive.child;
+
+            if(call.function instanceof Variable) {
+                Token method = call.function.token;
+                return dictionaryMethods.call((Dictionary) parent, method.value, arguments(call), method);
+            }
+
+        } else if(parent instanceof Pipeline && dive.child instanceof FunctionCall) {
+            FunctionCall call = (FunctionCall) dive.child;
+
+            if(call.function instanceof Variable) {
+                Token method = call.function.token;
+                return pipelineMethods.call((Pipeline) parent, method.value, arguments(call), method);
+            }
+
+        } else if(parent instanceof Range && dive.child instanceof FunctionCall) {
+            FunctionCall call = (FunctionCall) dive.child;
+
+            if(call.function instanceof Variable) {
+                Token method = call.function.token;
+                return rangeMethods.call((Range) parent, method.value, arguments(call), method);
+            }
+
+        } else if(parent instanceof Generator && dive.child instanceof FunctionCall) {
+            FunctionCall call = (FunctionCall) dive.child;
+
+            if(call.function instanceof Variable) {
+                Token method = call.function.token;
+                return generatorMethods.call((Generator) parent, method.value, arguments(call), method);
+            }
+
+        } else if(parent instanceof Channel && dive.child instanceof FunctionCall) {
+            FunctionCall call = (FunctionCall) dive.child;
+
+            if(call.function instanceof Variable) {
+                Token method = call.function.token;
+                return channelMethods.call((Channel) parent, method.value, arguments(call), method);
+            }
         }
     
         new ValueError(dive.token, "Variable is not object type.").cast();
@@ -701,19 +1590,32 @@ public class Interpreter {
         return null;
     }
 
-    private String getDirectoryFromPath(String path) {
-        return new File(path).getParentFile().getAbsolutePath();
+    public MemoryValue execute(Program program) {
+        this.directory = program.directory;
+
+        if(profiler != null) {
+            frames().push(Profiler.MAIN);
+        }
+
+        try {
+            return ScriptCompiler.phase("execute", program.path, timings, () -> visit(program.tree));
+        } finally {
+            if(profiler != null) {
+                frames().pop();
+            }
+            output.flush();
+        }
     }
     
+    public MemoryValue execute(Program program, Memory globals) {
+        memory = globals;
+
+        return execute(program);
+    }
+
     public MemoryValue evaluate(String path) {
-        this.directory = getDirectoryFromPath(path);
-    
-        Lexer lexer = new Lexer(path);
-        Parser parser = new Parser(lexer);
-    
-        AST tree = parser.parse();
-        System.out.println(tree);
-        analyzer.visit(tree);
-        return visit(tree);
+        Program program = compiler.compile(path, timings);
+
+        return execute(program);
     }
 }
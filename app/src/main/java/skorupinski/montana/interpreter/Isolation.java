@@ -0,0 +1,90 @@
+package skorupinski.montana.interpreter;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.parser.AST.FunctionInit;
+import skorupinski.montana.parser.AST.Variable;
+
+public class Isolation {
+
+    private static final Map<FunctionInit, Set<String>> names = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private Isolation() {}
+
+    public static Set<String> names(FunctionInit function) {
+        Set<String> used = names.get(function);
+
+        if(used != null) {
+            return used;
+        }
+
+        Set<String> collected = new HashSet<>();
+
+        if(function.block != null) {
+            function.block.walk(node -> {
+                if(node instanceof Variable) {
+                    collected.add(((Variable) node).variable.value);
+                }
+            });
+        }
+
+        used = Collections.unmodifiableSet(collected);
+        names.put(function, used);
+
+        return used;
+    }
+
+    public static Set<String> captured(Memory scope, Function function, MemoryValue[] args) {
+        Set<String> captured = new HashSet<>();
+        Set<FunctionInit> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<FunctionInit> pending = new ArrayDeque<>();
+
+        pending.push(function.function);
+
+        for(MemoryValue arg : args) {
+            if(arg instanceof Function) {
+                pending.push(((Function) arg).function);
+            }
+        }
+
+        while(!pending.isEmpty()) {
+            FunctionInit next = pending.pop();
+
+            if(!seen.add(next)) {
+                continue;
+            }
+
+            for(String name : names(next)) {
+                if(!captured.add(name)) {
+                    continue;
+                }
+
+                MemoryValue value = scope.get(name, false);
+
+                if(value instanceof Function) {
+                    pending.push(((Function) value).function);
+                }
+            }
+        }
+
+        return captured;
+    }
+
+    public static MemoryValue[] isolate(MemoryValue[] args, Map<MemoryValue, MemoryValue> copies) {
+        MemoryValue[] isolated = new MemoryValue[args.length];
+
+        for(int i = 0; i < args.length; i++) {
+            isolated[i] = args[i].isolate(copies);
+        }
+
+        return isolated;
+    }
+}
@@ -1,8 +1,12 @@
 package skorupinski.montana.interpreter;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.Map;
 
-public class Memory {
+import skorupinski.montana.utils.Allocations;
+
+public final class Memory {
 
     public final int memoryLevel;
 
@@ -15,6 +19,8 @@ public class Memory {
         this.enclosingMemoryBlock = enclosingMemoryBlock;
 
         values = new HashMap<>();
+
+        Allocations.allocated(this);
     }
 
     public MemoryValue get(String name, boolean onlyThisBlock) {
@@ -29,6 +35,63 @@ public class Memory {
         return null;
     }
 
+    public Memory snapshot() {
+        Memory copy = new Memory(1, new Memory(0, null));
+        copyInto(copy);
+
+        return copy;
+    }
+
+    public Memory snapshot(Collection<String> names) {
+        Memory copy = new Memory(1, new Memory(0, null));
+
+        for(String name : names) {
+            MemoryValue value = get(name, false);
+
+            if(value != null) {
+                copy.values.put(name, value);
+            }
+        }
+
+        return copy;
+    }
+
+    private void copyInto(Memory copy) {
+        if(enclosingMemoryBlock != null) {
+            enclosingMemoryBlock.copyInto(copy);
+        }
+
+        copy.values.putAll(values);
+    }
+
+    void isolateInto(Memory copy, Map<MemoryValue, MemoryValue> copies) {
+        if(enclosingMemoryBlock != null) {
+            enclosingMemoryBlock.isolateInto(copy, copies);
+        }
+
+        for(Map.Entry<String, MemoryValue> entry : values.entrySet()) {
+            copy.values.put(entry.getKey(), entry.getValue().isolate(copies));
+        }
+    }
+
+    public Memory capture(Collection<String> names, Map<MemoryValue, MemoryValue> copies) {
+        Memory copy = new Memory(1, new Memory(0, null));
+
+        for(String name : names) {
+            MemoryValue value = get(name, false);
+
+            if(value != null) {
+                copy.values.put(name, value.isolate(copies));
+            }
+        }
+
+        return copy;
+    }
+
+    public void define(String name, MemoryValue value) {
+        values.put(name, value);
+    }
+
     public void put(String name, MemoryValue value) {
         Memory scope = this;
     
@@ -45,14 +108,14 @@ public class Memory {
 
     @Override
     public String toString() {
-        String result = "Symbols: \n";
+        StringBuilder result = new StringBuilder("Symbols: \n");
     
         for(String value : values.keySet()) {
-            result += "Name: " + value + ", Value: " + values.get(value).toString();
-            result += "\n";
+            result.append("Name: ").append(value).append(", Value: ").append(values.get(value).toString());
+            result.append("\n");
         }
     
-        return result;
+        return result.toString();
     }
     
 }
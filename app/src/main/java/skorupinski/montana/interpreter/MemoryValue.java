@@ -1,19 +1,43 @@
 package skorupinski.montana.interpreter;
 
+import java.lang.ref.Cleaner;
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
 
 import skorupinski.montana.parser.AST.FunctionInit;
+import skorupinski.montana.utils.Allocations;
+import skorupinski.montana.utils.Values;
 
 public class MemoryValue {
     
     public enum Type {
+        INT,
         FLOAT,
         STRING,
         BOOLEAN,
         ARRAY,
+        DICTIONARY,
         FUNCTION,
         OBJECT,
+        FUTURE,
+        CHANNEL,
+        GENERATOR,
+        RANGE,
+        PIPELINE,
         NONE
     }
 
@@ -23,57 +47,941 @@ public class MemoryValue {
         this.type = type;
     }
 
-    public static class Singular extends MemoryValue {
+    public MemoryValue isolate(Map<MemoryValue, MemoryValue> copies) {
+        return this;
+    }
+
+    public static final class Singular extends MemoryValue {
+
+        private String value;
+
+        private final StringBuilder builder;
+
+        private final int length;
+
+        private final double number;
+
+        private final long integer;
+
+        private final BigInteger big;
+
+        public Singular(String value, Type type) {
+            super(type);
+
+            this.builder = null;
+            this.length = value.length();
+
+            if(type == Type.FLOAT) {
+                this.value = null;
+                this.number = NumberFormat.parseDouble(value);
+                this.integer = 0;
+                this.big = null;
+
+            } else if(type == Type.INT) {
+                BigInteger parsed = value.length() > 18 ? new BigInteger(value) : null;
+                boolean fits = parsed == null || parsed.bitLength() < 64;
+
+                this.value = null;
+                this.number = 0;
+                this.integer = fits ? (parsed == null ? Long.parseLong(value) : parsed.longValue()) : 0;
+                this.big = fits ? null : parsed;
+
+            } else {
+                this.value = value;
+                this.number = 0;
+                this.integer = 0;
+                this.big = null;
+            }
+
+            Allocations.allocated(this);
+        }
+
+        public Singular(double number) {
+            super(Type.FLOAT);
+
+            this.value = null;
+            this.builder = null;
+            this.length = 0;
+            this.number = number;
+            this.integer = 0;
+            this.big = null;
+
+            Allocations.allocated(this);
+        }
+
+        public Singular(long integer) {
+            super(Type.INT);
+
+            this.value = null;
+            this.builder = null;
+            this.length = 0;
+            this.number = 0;
+            this.integer = integer;
+            this.big = null;
+
+            Allocations.allocated(this);
+        }
+
+        public Singular(BigInteger integer) {
+            super(Type.INT);
+
+            boolean fits = integer.bitLength() < 64;
+
+            this.value = null;
+            this.builder = null;
+            this.length = 0;
+            this.number = 0;
+            this.integer = fits ? integer.longValue() : 0;
+            this.big = fits ? null : integer;
+
+            Allocations.allocated(this);
+        }
+
+        private Singular(StringBuilder builder, int length) {
+            super(Type.STRING);
+
+            this.value = null;
+            this.builder = builder;
+            this.length = length;
+            this.number = 0;
+            this.integer = 0;
+            this.big = null;
+
+            Allocations.allocated(this);
+        }
+
+        public String value() {
+            if(value == null) {
+                if(builder != null) {
+                    synchronized(builder) {
+                        value = builder.substring(0, length);
+                    }
+                } else if(type == Type.FLOAT) {
+                    value = NumberFormat.format(number);
+                } else {
+                    value = big != null ? big.toString() : Long.toString(integer);
+                }
+            }
+            return value;
+        }
+
+        public boolean isNumber() {
+            return type == Type.FLOAT || type == Type.INT;
+        }
+
+        public boolean isBig() {
+            return big != null;
+        }
+
+        public double doubleValue() {
+            if(type == Type.INT) {
+                return big != null ? big.doubleValue() : integer;
+            }
+            return number;
+        }
+
+        public long longValue() {
+            if(type == Type.FLOAT) {
+                return (long) number;
+            }
+            return big != null ? big.longValue() : integer;
+        }
+
+        public BigInteger bigValue() {
+            return big != null ? big : BigInteger.valueOf(integer);
+        }
+
+        public int length() {
+            return builder != null ? length : value().length();
+        }
+
+        public Singular concat(Singular other) {
+            String tail = other.value();
+
+            if(builder != null) {
+                synchronized(builder) {
+                    if(builder.length() == length) {
+                        builder.append(tail);
+                        return new Singular(builder, builder.length());
+                    }
+                }
+            }
+
+            StringBuilder result = new StringBuilder(Math.max(16, (length() + tail.length()) * 2));
+            appendTo(result);
+            result.append(tail);
+
+            return new Singular(result, result.length());
+        }
+
+        public void appendTo(StringBuilder target) {
+            if(value != null) {
+                target.append(value);
+                return;
+            } else if(type == Type.FLOAT) {
+                NumberFormat.appendTo(target, number);
+                return;
+            } else if(type == Type.INT) {
+                if(big != null) {
+                    target.append(big);
+                } else {
+                    target.append(integer);
+                }
+                return;
+            }
+
+            synchronized(builder) {
+                target.append(builder, 0, length);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return value();
+        }
+
+    }
+
+    public static final class Array extends MemoryValue {
+
+        public enum Kind {
+            EMPTY,
+            INT,
+            FLOAT,
+            BOOLEAN,
+            MIXED
+        }
+
+        private static final int DEFAULT_CAPACITY = 8;
+
+        private Kind kind;
+
+        private int size;
+
+        private int reserved;
+
+        private long[] ints;
+
+        private double[] floats;
+
+        private boolean[] booleans;
+
+        private MemoryValue[] values;
+
+        public Array(List<MemoryValue> elements) {
+            super(Type.ARRAY);
+
+            kind = Kind.EMPTY;
+            size = 0;
+
+            for(MemoryValue element : elements) {
+                add(element);
+            }
+
+            Allocations.allocated(this);
+        }
+
+        public Array() {
+            super(Type.ARRAY);
+
+            kind = Kind.EMPTY;
+            size = 0;
+
+            Allocations.allocated(this);
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private static Kind kindOf(MemoryValue value) {
+            if(value.type == Type.INT && !((Singular) value).isBig()) {
+                return Kind.INT;
+            } else if(value.type == Type.FLOAT) {
+                return Kind.FLOAT;
+            } else if(value.type == Type.BOOLEAN) {
+                return Kind.BOOLEAN;
+            }
+            return Kind.MIXED;
+        }
+
+        private int capacity() {
+            switch(kind) {
+                case INT:
+                    return ints.length;
+                case FLOAT:
+                    return floats.length;
+                case BOOLEAN:
+                    return booleans.length;
+                case MIXED:
+                    return values.length;
+                default:
+                    return 0;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if(kind == Kind.EMPTY || capacity <= capacity()) {
+                return;
+            }
+
+            int newCapacity = Math.max(capacity, capacity() + (capacity() >> 1));
+
+            switch(kind) {
+                case INT:
+                    ints = Arrays.copyOf(ints, newCapacity);
+                    break;
+                case FLOAT:
+                    floats = Arrays.copyOf(floats, newCapacity);
+                    break;
+                case BOOLEAN:
+                    booleans = Arrays.copyOf(booleans, newCapacity);
+                    break;
+                case MIXED:
+                    values = Arrays.copyOf(values, newCapacity);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void specialize(Kind newKind) {
+            int capacity = Math.max(DEFAULT_CAPACITY, Math.max(size, reserved));
+
+            switch(newKind) {
+                case INT:
+                    ints = new long[capacity];
+                    break;
+                case FLOAT:
+                    floats = new double[capacity];
+                    break;
+                case BOOLEAN:
+                    booleans = new boolean[capacity];
+                    break;
+                default:
+                    values = new MemoryValue[capacity];
+                    break;
+            }
+            kind = newKind;
+        }
+
+        private void generalize() {
+            MemoryValue[] generic = new MemoryValue[Math.max(DEFAULT_CAPACITY, capacity())];
+
+            for(int i = 0; i < size; i++) {
+                generic[i] = get(i);
+            }
+
+            values = generic;
+            ints = null;
+            floats = null;
+            booleans = null;
+            kind = Kind.MIXED;
+        }
+
+        private void accept(MemoryValue value) {
+            Kind valueKind = kindOf(value);
+
+            if(kind == Kind.EMPTY) {
+                specialize(valueKind);
+            } else if(kind != Kind.MIXED && kind != valueKind) {
+                generalize();
+            }
+        }
+
+        private void checkIndex(int index) {
+            if(index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+        }
+
+        public long getInt(int index) {
+            checkIndex(index);
+            return ints[index];
+        }
+
+        public double getFloat(int index) {
+            checkIndex(index);
+            return floats[index];
+        }
+
+        public MemoryValue get(int index) {
+            checkIndex(index);
+
+            switch(kind) {
+                case INT:
+                    return new Singular(ints[index]);
+                case FLOAT:
+                    return new Singular(floats[index]);
+                case BOOLEAN:
+                    return new Singular(booleans[index] ? Values.TRUE : Values.FALSE, Type.BOOLEAN);
+                default:
+                    return values[index];
+            }
+        }
+
+        public void setInt(int index, long value) {
+            checkIndex(index);
+
+            if(kind == Kind.INT) {
+                ints[index] = value;
+            } else {
+                set(index, new Singular(value));
+            }
+        }
+
+        public void setFloat(int index, double value) {
+            checkIndex(index);
+
+            if(kind == Kind.FLOAT) {
+                floats[index] = value;
+            } else {
+                set(index, new Singular(value));
+            }
+        }
+
+        public void set(int index, MemoryValue value) {
+            checkIndex(index);
+            accept(value);
+
+            switch(kind) {
+                case INT:
+                    ints[index] = ((Singular) value).longValue();
+                    break;
+                case FLOAT:
+                    floats[index] = ((Singular) value).doubleValue();
+                    break;
+                case BOOLEAN:
+                    booleans[index] = ((Singular) value).value().equals(Values.TRUE);
+                    break;
+                default:
+                    values[index] = value;
+                    break;
+            }
+        }
+
+        public void add(MemoryValue value) {
+            accept(value);
+            ensureCapacity(size + 1);
+            size++;
+            set(size - 1, value);
+        }
+
+        public void insert(int index, MemoryValue value) {
+            if(index < 0 || index > size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+
+            accept(value);
+            ensureCapacity(size + 1);
+            shift(index, index + 1, size - index);
+            size++;
+            set(index, value);
+        }
+
+        public MemoryValue remove(int index) {
+            MemoryValue removed = get(index);
+
+            shift(index + 1, index, size - index - 1);
+            size--;
+
+            if(kind == Kind.MIXED) {
+                values[size] = null;
+            }
+
+            return removed;
+        }
+
+        public MemoryValue pop() {
+            return remove(size - 1);
+        }
+
+        public void reserve(int capacity) {
+            reserved = Math.max(reserved, capacity);
+            ensureCapacity(capacity);
+        }
+
+        public LongStream intStream() {
+            return Arrays.stream(ints, 0, size);
+        }
+
+        public DoubleStream floatStream() {
+            return Arrays.stream(floats, 0, size);
+        }
+
+        public boolean sortNumbers() {
+            if(kind == Kind.INT) {
+                Arrays.parallelSort(ints, 0, size);
+                return true;
+            } else if(kind == Kind.FLOAT) {
+                Arrays.parallelSort(floats, 0, size);
+                return true;
+            }
+            return false;
+        }
+
+        public void sort(Comparator<MemoryValue> comparator) {
+            MemoryValue[] sorted = new MemoryValue[size];
+
+            for(int i = 0; i < size; i++) {
+                sorted[i] = get(i);
+            }
+
+            Arrays.parallelSort(sorted, comparator);
+
+            for(int i = 0; i < size; i++) {
+                set(i, sorted[i]);
+            }
+        }
+
+        @Override
+        public MemoryValue isolate(Map<MemoryValue, MemoryValue> copies) {
+            MemoryValue isolated = copies.get(this);
+
+            if(isolated != null) {
+                return isolated;
+            }
+
+            Array copy = new Array();
+            copies.put(this, copy);
+
+            copy.kind = kind;
+            copy.size = size;
+            copy.reserved = reserved;
+            copy.ints = ints == null ? null : ints.clone();
+            copy.floats = floats == null ? null : floats.clone();
+            copy.booleans = booleans == null ? null : booleans.clone();
+
+            if(values != null) {
+                copy.values = new MemoryValue[values.length];
+
+                for(int i = 0; i < size; i++) {
+                    copy.values[i] = values[i].isolate(copies);
+                }
+            }
+
+            return copy;
+        }
+
+        private void shift(int from, int to, int length) {
+            switch(kind) {
+                case INT:
+                    System.arraycopy(ints, from, ints, to, length);
+                    break;
+                case FLOAT:
+                    System.arraycopy(floats, from, floats, to, length);
+                    break;
+                case BOOLEAN:
+                    System.arraycopy(booleans, from, booleans, to, length);
+                    break;
+                case MIXED:
+                    System.arraycopy(values, from, values, to, length);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder result = new StringBuilder("[");
+            for(int i = 0; i < size; i++) {
+                MemoryValue val = get(i);
+                result.append(val.toString());
+        
+                if(i != size - 1) {
+                    result.append(", ");
+                }
+            }
+            result.append("]");
+            return result.toString();
+        }
+        
+    }
+
+    public static final class Dictionary extends MemoryValue {
+
+        private static final int DEFAULT_CAPACITY = 16;
+
+        private int size;
+
+        private Type[] keyTypes;
+
+        private int[] hashes;
+
+        private String[] textKeys;
+
+        private long[] intKeys;
+
+        private double[] numberKeys;
+
+        private MemoryValue[] values;
+
+        public Dictionary() {
+            super(Type.DICTIONARY);
+
+            allocate(DEFAULT_CAPACITY);
+
+            Allocations.allocated(this);
+        }
+
+        private void allocate(int capacity) {
+            keyTypes = new Type[capacity];
+            hashes = new int[capacity];
+            textKeys = new String[capacity];
+            intKeys = new long[capacity];
+            numberKeys = new double[capacity];
+            values = new MemoryValue[capacity];
+        }
+
+        public int size() {
+            return size;
+        }
+
+        private static int mix(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+
+        private static int intHash(long integer) {
+            return mix(Long.hashCode(integer));
+        }
+
+        private static boolean isIntegral(double number) {
+            return Math.abs(number) < 9.0E18 && number == (long) number;
+        }
+
+        private static int numberHash(double number) {
+            return mix(Double.hashCode(number == 0.0 ? 0.0 : number));
+        }
+
+        private static int textHash(String text) {
+            return mix(text.hashCode());
+        }
+
+        private int findInt(long integer, int hash) {
+            int mask = keyTypes.length - 1;
+            int slot = hash & mask;
+
+            while(keyTypes[slot] != null) {
+                if(hashes[slot] == hash && keyTypes[slot] == Type.INT && textKeys[slot] == null && intKeys[slot] == integer) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            return -(slot + 1);
+        }
+
+        private int findNumber(double number, int hash) {
+            int mask = keyTypes.length - 1;
+            int slot = hash & mask;
+
+            while(keyTypes[slot] != null) {
+                if(hashes[slot] == hash && keyTypes[slot] == Type.FLOAT && numberKeys[slot] == number) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            return -(slot + 1);
+        }
+
+        private int findText(Type type, String text, int hash) {
+            int mask = keyTypes.length - 1;
+            int slot = hash & mask;
+
+            while(keyTypes[slot] != null) {
+                if(hashes[slot] == hash && keyTypes[slot] == type && text.equals(textKeys[slot])) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+
+            return -(slot + 1);
+        }
+
+        private int find(Singular key) {
+            if(key.type == Type.INT && !key.isBig()) {
+                long integer = key.longValue();
+                return findInt(integer, intHash(integer));
+
+            } else if(key.type == Type.FLOAT) {
+                double number = key.doubleValue();
+
+                if(isIntegral(number)) {
+                    return findInt((long) number, intHash((long) number));
+                }
+                return findNumber(number, numberHash(number));
+            }
+
+            return findText(key.type, key.value(), textHash(key.value()));
+        }
+
+        public MemoryValue get(Singular key) {
+            int slot = find(key);
+            return slot >= 0 ? values[slot] : null;
+        }
+
+        public MemoryValue get(String key) {
+            int slot = findText(Type.STRING, key, textHash(key));
+            return slot >= 0 ? values[slot] : null;
+        }
+
+        public MemoryValue get(long key) {
+            int slot = findInt(key, intHash(key));
+            return slot >= 0 ? values[slot] : null;
+        }
+
+        public MemoryValue get(double key) {
+            if(isIntegral(key)) {
+                return get((long) key);
+            }
+
+            int slot = findNumber(key, numberHash(key));
+            return slot >= 0 ? values[slot] : null;
+        }
+
+        public boolean contains(Singular key) {
+            return find(key) >= 0;
+        }
+
+        public void put(Singular key, MemoryValue value) {
+            if(key.type == Type.INT && !key.isBig()) {
+                put(key.longValue(), value);
+                return;
+
+            } else if(key.type == Type.FLOAT) {
+                put(key.doubleValue(), value);
+                return;
+            }
+
+            int hash = textHash(key.value());
+            int slot = findText(key.type, key.value(), hash);
+
+            if(slot >= 0) {
+                values[slot] = value;
+                return;
+            }
+
+            slot = -(slot + 1);
+            keyTypes[slot] = key.type;
+            hashes[slot] = hash;
+            textKeys[slot] = key.value();
+            values[slot] = value;
+            grow();
+        }
+
+        public void put(String key, MemoryValue value) {
+            put(new Singular(key, Type.STRING), value);
+        }
+
+        public void put(long key, MemoryValue value) {
+            int hash = intHash(key);
+            int slot = findInt(key, hash);
+
+            if(slot >= 0) {
+                values[slot] = value;
+                return;
+            }
+
+            slot = -(slot + 1);
+            keyTypes[slot] = Type.INT;
+            hashes[slot] = hash;
+            intKeys[slot] = key;
+            values[slot] = value;
+            grow();
+        }
+
+        public void put(double key, MemoryValue value) {
+            if(isIntegral(key)) {
+                put((long) key, value);
+                return;
+            }
+
+            int hash = numberHash(key);
+            int slot = findNumber(key, hash);
+
+            if(slot >= 0) {
+                values[slot] = value;
+                return;
+            }
+
+            slot = -(slot + 1);
+            keyTypes[slot] = Type.FLOAT;
+            hashes[slot] = hash;
+            numberKeys[slot] = key;
+            values[slot] = value;
+            grow();
+        }
+
+        private void grow() {
+            size++;
+
+            if(size * 4 < keyTypes.length * 3) {
+                return;
+            }
+
+            Type[] oldTypes = keyTypes;
+            int[] oldHashes = hashes;
+            String[] oldText = textKeys;
+            long[] oldInts = intKeys;
+            double[] oldNumbers = numberKeys;
+            MemoryValue[] oldValues = values;
+
+            allocate(oldTypes.length * 2);
+            int mask = keyTypes.length - 1;
+
+            for(int i = 0; i < oldTypes.length; i++) {
+                if(oldTypes[i] == null) {
+                    continue;
+                }
+
+                int slot = oldHashes[i] & mask;
+                while(keyTypes[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+
+                keyTypes[slot] = oldTypes[i];
+                hashes[slot] = oldHashes[i];
+                textKeys[slot] = oldText[i];
+                intKeys[slot] = oldInts[i];
+                numberKeys[slot] = oldNumbers[i];
+                values[slot] = oldValues[i];
+            }
+        }
+
+        public MemoryValue remove(Singular key) {
+            int slot = find(key);
+
+            if(slot < 0) {
+                return null;
+            }
 
-        public final String value;
+            MemoryValue removed = values[slot];
+            int mask = keyTypes.length - 1;
+            int hole = slot;
+            int next = (slot + 1) & mask;
 
-        public Singular(String value, Type type) {
-            super(type);
+            while(keyTypes[next] != null) {
+                int home = hashes[next] & mask;
+
+                if(((next - home) & mask) >= ((next - hole) & mask)) {
+                    move(next, hole);
+                    hole = next;
+                }
+                next = (next + 1) & mask;
+            }
 
-            this.value = value;
+            clear(hole);
+            size--;
+
+            return removed;
         }
 
-        @Override
-        public String toString() {
-            return value;
+        private void move(int from, int to) {
+            keyTypes[to] = keyTypes[from];
+            hashes[to] = hashes[from];
+            textKeys[to] = textKeys[from];
+            intKeys[to] = intKeys[from];
+            numberKeys[to] = numberKeys[from];
+            values[to] = values[from];
         }
 
-    }
+        private void clear(int slot) {
+            keyTypes[slot] = null;
+            textKeys[slot] = null;
+            values[slot] = null;
+        }
 
-    public static class Array extends MemoryValue {
+        private Singular keyAt(int slot) {
+            if(keyTypes[slot] == Type.INT && textKeys[slot] == null) {
+                return new Singular(intKeys[slot]);
+            } else if(keyTypes[slot] == Type.FLOAT) {
+                return new Singular(numberKeys[slot]);
+            }
+            return new Singular(textKeys[slot], keyTypes[slot]);
+        }
 
-        public final List<MemoryValue> elements;
+        @Override
+        public MemoryValue isolate(Map<MemoryValue, MemoryValue> copies) {
+            MemoryValue isolated = copies.get(this);
 
-        public Array(List<MemoryValue> elements) {
-            super(Type.ARRAY);
+            if(isolated != null) {
+                return isolated;
+            }
+
+            Dictionary copy = new Dictionary();
+            copies.put(this, copy);
+
+            copy.size = size;
+            copy.keyTypes = keyTypes.clone();
+            copy.hashes = hashes.clone();
+            copy.textKeys = textKeys.clone();
+            copy.intKeys = intKeys.clone();
+            copy.numberKeys = numberKeys.clone();
+            copy.values = new MemoryValue[values.length];
 
-            this.elements = elements;
+            for(int i = 0; i < values.length; i++) {
+                copy.values[i] = values[i] == null ? null : values[i].isolate(copies);
+            }
+
+            return copy;
         }
 
-        public Array() {
-            super(Type.ARRAY);
+        public Array keys() {
+            Array keys = new Array();
+            keys.reserve(size);
+
+            for(int i = 0; i < keyTypes.length; i++) {
+                if(keyTypes[i] != null) {
+                    keys.add(keyAt(i));
+                }
+            }
+
+            return keys;
+        }
+
+        public Array values() {
+            Array result = new Array();
+            result.reserve(size);
+
+            for(int i = 0; i < keyTypes.length; i++) {
+                if(keyTypes[i] != null) {
+                    result.add(values[i]);
+                }
+            }
 
-            elements = new ArrayList<>();
+            return result;
         }
 
         @Override
         public String toString() {
-            String result = "[";
-            for(int i = 0; i < elements.size(); i++) {
-                MemoryValue val = elements.get(i);
-                result += val.toString();
-        
-                if(i != elements.size() - 1) {
-                    result += ", ";
+            StringBuilder result = new StringBuilder("{");
+            int written = 0;
+
+            for(int i = 0; i < keyTypes.length; i++) {
+                if(keyTypes[i] == null) {
+                    continue;
+                }
+
+                result.append(keyAt(i).toString()).append(": ").append(values[i].toString());
+                written++;
+
+                if(written != size) {
+                    result.append(", ");
                 }
             }
-            result += "]";
-            return result;
+            result.append("}");
+            return result.toString();
         }
-        
+
     }
 
-    public static class Function extends MemoryValue {
+    public static final class Function extends MemoryValue {
 
         public final FunctionInit function;
 
@@ -81,6 +989,8 @@ public class MemoryValue {
             super(Type.FUNCTION);
 
             this.function = function;
+
+            Allocations.allocated(this);
         }
 
         @Override
@@ -90,7 +1000,7 @@ public class MemoryValue {
 
     }
 
-    public static class LangObject extends MemoryValue {
+    public static final class LangObject extends MemoryValue {
 
         public final Memory objectMemory;
 
@@ -98,6 +1008,25 @@ public class MemoryValue {
             super(Type.OBJECT);
 
             this.objectMemory = objectMemory;
+
+            Allocations.allocated(this);
+        }
+
+        @Override
+        public MemoryValue isolate(Map<MemoryValue, MemoryValue> copies) {
+            MemoryValue isolated = copies.get(this);
+
+            if(isolated != null) {
+                return isolated;
+            }
+
+            Memory memory = new Memory(1, new Memory(0, null));
+            LangObject copy = new LangObject(memory);
+            copies.put(this, copy);
+
+            objectMemory.isolateInto(memory, copies);
+
+            return copy;
         }
 
         @Override
@@ -106,4 +1035,441 @@ public class MemoryValue {
         }
 
     }
+
+    public static final class LangFuture extends MemoryValue {
+
+        public final CompletableFuture<MemoryValue> result;
+
+        public LangFuture(CompletableFuture<MemoryValue> result) {
+            super(Type.FUTURE);
+
+            this.result = result;
+
+            Allocations.allocated(this);
+        }
+
+        @Override
+        public String toString() {
+            return "future";
+        }
+
+    }
+
+    public static final class Channel extends MemoryValue {
+
+        private static final int CLOSED_PERMITS = Integer.MAX_VALUE / 2;
+
+        public final int capacity;
+
+        private final Queue<MemoryValue> items;
+
+        private final Semaphore available;
+
+        private final Semaphore slots;
+
+        private final Queue<Semaphore> watchers;
+
+        private final AtomicBoolean closed;
+
+        private volatile String failure;
+
+        public Channel(int capacity) {
+            super(Type.CHANNEL);
+
+            this.capacity = capacity;
+            items = new ConcurrentLinkedQueue<>();
+            available = new Semaphore(0);
+            slots = capacity > 0 ? new Semaphore(capacity) : null;
+            watchers = new ConcurrentLinkedQueue<>();
+            closed = new AtomicBoolean(false);
+
+            Allocations.allocated(this);
+        }
+
+        public boolean send(MemoryValue value) throws InterruptedException {
+            if(closed.get()) {
+                return false;
+            }
+
+            if(slots != null) {
+                slots.acquire();
+
+                if(closed.get()) {
+                    slots.release();
+                    return false;
+                }
+            }
+
+            items.offer(value);
+            available.release();
+            signal();
+
+            return true;
+        }
+
+        public boolean offer(MemoryValue value, long timeout, TimeUnit unit) throws InterruptedException {
+            if(closed.get()) {
+                return false;
+            }
+
+            if(slots != null) {
+                if(!slots.tryAcquire(timeout, unit)) {
+                    return false;
+                }
+
+                if(closed.get()) {
+                    slots.release();
+                    return false;
+                }
+            }
+
+            items.offer(value);
+            available.release();
+            signal();
+
+            return true;
+        }
+
+        public MemoryValue receive() throws InterruptedException {
+            available.acquire();
+            return take();
+        }
+
+        public MemoryValue poll() {
+            if(!available.tryAcquire()) {
+                return null;
+            }
+            return take();
+        }
+
+        private MemoryValue take() {
+            MemoryValue value = items.poll();
+
+            if(value == null) {
+                available.release();
+                return null;
+            }
+
+            if(slots != null) {
+                slots.release();
+            }
+            return value;
+        }
+
+        public void close() {
+            if(closed.compareAndSet(false, true)) {
+                available.release(CLOSED_PERMITS);
+
+                if(slots != null) {
+                    slots.release(CLOSED_PERMITS);
+                }
+                signal();
+            }
+        }
+
+        public void fail(String message) {
+            failure = message;
+            close();
+        }
+
+        public String failure() {
+            return failure;
+        }
+
+        public boolean isClosed() {
+            return closed.get();
+        }
+
+        public boolean isDrained() {
+            return closed.get() && items.isEmpty();
+        }
+
+        public int size() {
+            return items.size();
+        }
+
+        public void watch(Semaphore watcher) {
+            watchers.offer(watcher);
+        }
+
+        public void unwatch(Semaphore watcher) {
+            watchers.remove(watcher);
+        }
+
+        private void signal() {
+            for(Semaphore watcher : watchers) {
+                watcher.release();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "channel";
+        }
+
+    }
+
+    public static final class Generator extends MemoryValue {
+
+        private static final Cleaner CLEANER = Cleaner.create();
+
+        public static final class Cancelled extends RuntimeException {
+
+            private static final long serialVersionUID = 1L;
+
+            private Cancelled() {
+                super(null, null, false, false);
+            }
+        }
+
+        public static final class Producer {
+
+            private static final Object END = new Object();
+
+            private final Consumer<Producer> body;
+
+            private final Semaphore resumed;
+
+            private final Semaphore yielded;
+
+            private final ReentrantLock lock;
+
+            private Object slot;
+
+            private boolean started;
+
+            private boolean finished;
+
+            private volatile boolean cancelled;
+
+            private Producer(Consumer<Producer> body) {
+                this.body = body;
+                resumed = new Semaphore(0);
+                yielded = new Semaphore(0);
+                lock = new ReentrantLock();
+            }
+
+            private MemoryValue next() {
+                lock.lock();
+
+                try {
+                    if(finished) {
+                        return null;
+                    }
+
+                    if(!started) {
+                        started = true;
+                        Thread.ofVirtual().name("montana-generator").start(this::run);
+                    } else {
+                        resumed.release();
+                    }
+
+                    yielded.acquireUninterruptibly();
+
+                    if(slot == END) {
+                        finished = true;
+                        return null;
+                    } else if(slot instanceof RuntimeException) {
+                        finished = true;
+                        throw (RuntimeException) slot;
+                    } else if(slot instanceof java.lang.Error) {
+                        finished = true;
+                        throw (java.lang.Error) slot;
+                    }
+
+                    return (MemoryValue) slot;
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            public void produce(MemoryValue value) {
+                if(cancelled) {
+                    throw new Cancelled();
+                }
+
+                slot = value;
+                yielded.release();
+                resumed.acquireUninterruptibly();
+
+                if(cancelled) {
+                    throw new Cancelled();
+                }
+            }
+
+            private void cancel() {
+                lock.lock();
+
+                try {
+                    if(started && !finished) {
+                        cancelled = true;
+                        resumed.release();
+                    }
+
+                    finished = true;
+                } finally {
+                    lock.unlock();
+                }
+            }
+
+            private void run() {
+                try {
+                    body.accept(this);
+                    slot = END;
+                } catch (Throwable e) {
+                    slot = e;
+                }
+
+                yielded.release();
+            }
+        }
+
+        private final Producer producer;
+
+        private final Cleaner.Cleanable cleanable;
+
+        public Generator(Consumer<Producer> body) {
+            super(Type.GENERATOR);
+
+            producer = new Producer(body);
+            cleanable = CLEANER.register(this, producer::cancel);
+
+            Allocations.allocated(this);
+        }
+
+        public MemoryValue next() {
+            return producer.next();
+        }
+
+        public void close() {
+            cleanable.clean();
+        }
+
+        @Override
+        public String toString() {
+            return "generator";
+        }
+
+    }
+
+    public static final class Range extends MemoryValue {
+
+        public final long start;
+
+        public final long end;
+
+        public final long step;
+
+        public final long size;
+
+        public Range(long start, long end, long step) {
+            super(Type.RANGE);
+
+            this.start = start;
+            this.end = end;
+            this.step = step;
+
+            if(step > 0 && start < end) {
+                size = Long.divideUnsigned(end - start - 1, step) + 1;
+            } else if(step < 0 && start > end) {
+                size = Long.divideUnsigned(start - end - 1, -step) + 1;
+            } else {
+                size = 0;
+            }
+
+            if(size < 0) {
+                throw new ArithmeticException("Range size overflow.");
+            }
+
+            Allocations.allocated(this);
+        }
+
+        public long get(long index) {
+            return start + index * step;
+        }
+
+        public boolean contains(long value) {
+            if(size == 0) {
+                return false;
+            }
+
+            long last = get(size - 1);
+
+            if(step > 0 ? value < start || value > last : value > start || value < last) {
+                return false;
+            }
+
+            return step > 0 ? Long.remainderUnsigned(value - start, step) == 0 :
+                              Long.remainderUnsigned(start - value, -step) == 0;
+        }
+
+        public Range slice(long from, long to) {
+            from = Math.max(0, Math.min(from, size));
+            to = Math.max(from, Math.min(to, size));
+
+            if(from == to) {
+                return new Range(start, start, step);
+            }
+
+            return new Range(get(from), get(to - 1) + (step > 0 ? 1 : -1), step);
+        }
+
+        @Override
+        public String toString() {
+            return "range(" + start + ", " + end + ", " + step + ")";
+        }
+
+    }
+
+    public static final class Pipeline extends MemoryValue {
+
+        public static class Stage {
+
+            public final String operation;
+
+            public final MemoryValue argument;
+
+            public Stage(String operation, MemoryValue argument) {
+                this.operation = operation;
+                this.argument = argument;
+            }
+        }
+
+        public final MemoryValue source;
+
+        public final List<Stage> stages;
+
+        public Pipeline(MemoryValue source, List<Stage> stages) {
+            super(Type.PIPELINE);
+
+            this.source = source;
+            this.stages = stages;
+
+            Allocations.allocated(this);
+        }
+
+        public Pipeline then(String operation, MemoryValue argument) {
+            List<Stage> chain = new ArrayList<>(stages);
+            chain.add(new Stage(operation, argument));
+
+            return new Pipeline(source, chain);
+        }
+
+        @Override
+        public MemoryValue isolate(Map<MemoryValue, MemoryValue> copies) {
+            List<Stage> chain = new ArrayList<>(stages.size());
+
+            for(Stage stage : stages) {
+                chain.add(new Stage(stage.operation, stage.argument.isolate(copies)));
+            }
+
+            return new Pipeline(source.isolate(copies), chain);
+        }
+
+        @Override
+        public String toString() {
+            return "pipeline";
+        }
+
+    }
 }
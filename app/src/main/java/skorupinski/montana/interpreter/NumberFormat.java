@@ -0,0 +1,91 @@
+package skorupinski.montana.interpreter;
+
+public class NumberFormat {
+
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private static final long EXACT_MANTISSA = 1L << 53;
+
+    private static final double INTEGRAL_LIMIT = 1e15;
+
+    private NumberFormat() {}
+
+    public static void appendTo(StringBuilder target, double number) {
+        if(number == Math.rint(number) && Math.abs(number) < INTEGRAL_LIMIT) {
+            target.append((long) number);
+            return;
+        }
+
+        int start = target.length();
+        target.append(number);
+
+        for(int i = start; i < target.length() - 2; i++) {
+            if(target.charAt(i) == '.' && target.charAt(i + 1) == '0' && target.charAt(i + 2) == 'E') {
+                target.delete(i, i + 2);
+                break;
+            }
+        }
+    }
+
+    public static String format(double number) {
+        if(number == Math.rint(number) && Math.abs(number) < INTEGRAL_LIMIT) {
+            return Long.toString((long) number);
+        }
+
+        StringBuilder result = new StringBuilder(24);
+        appendTo(result, number);
+
+        return result.toString();
+    }
+
+    public static double parseDouble(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+
+        if(length > 0 && text.charAt(0) == '-') {
+            negative = true;
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int scale = 0;
+        boolean seen = false;
+        boolean dot = false;
+
+        for(; i < length; i++) {
+            char c = text.charAt(i);
+
+            if(c >= '0' && c <= '9') {
+                if(digits == 18) {
+                    return Double.parseDouble(text.toString());
+                }
+
+                mantissa = mantissa * 10 + (c - '0');
+                seen = true;
+
+                if(mantissa != 0) {
+                    digits++;
+                }
+                if(dot) {
+                    scale++;
+                }
+            } else if(c == '.' && !dot) {
+                dot = true;
+            } else {
+                return Double.parseDouble(text.toString());
+            }
+        }
+
+        if(!seen || mantissa >= EXACT_MANTISSA || scale >= POWERS_OF_TEN.length) {
+            return Double.parseDouble(text.toString());
+        }
+
+        double number = mantissa / POWERS_OF_TEN[scale];
+        return negative ? -number : number;
+    }
+}
@@ -0,0 +1,143 @@
+package skorupinski.montana.interpreter;
+
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReentrantLock;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+
+public class Output {
+
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    private final WritableByteChannel target;
+
+    private final boolean owned;
+
+    private final boolean lineBuffered;
+
+    private final int capacity;
+
+    private final StringBuilder buffer;
+
+    private final ByteBuffer bytes;
+
+    private final CharsetEncoder encoder;
+
+    private final ReentrantLock lock;
+
+    public Output(WritableByteChannel target, boolean owned, int capacity, boolean lineBuffered) {
+        this.target = target;
+        this.owned = owned;
+        this.capacity = capacity;
+        this.lineBuffered = lineBuffered;
+
+        buffer = new StringBuilder(capacity + 256);
+        bytes = ByteBuffer.allocate(capacity);
+        encoder = StandardCharsets.UTF_8.newEncoder();
+        lock = new ReentrantLock();
+    }
+
+    public static Output stdout(boolean lineBuffered) {
+        WritableByteChannel channel = Channels.newChannel(new FileOutputStream(FileDescriptor.out));
+        return new Output(channel, false, DEFAULT_CAPACITY, lineBuffered);
+    }
+
+    public static Output file(String path, boolean lineBuffered) throws IOException {
+        FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.CREATE, 
+                                               StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new Output(channel, true, DEFAULT_CAPACITY, lineBuffered);
+    }
+
+    public void print(MemoryValue value) {
+        lock.lock();
+
+        try {
+            if(value instanceof Singular) {
+                ((Singular) value).appendTo(buffer);
+            } else {
+                buffer.append(value.toString());
+            }
+            buffer.append('\n');
+
+            if(lineBuffered || buffer.length() >= capacity) {
+                write();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void flush() {
+        lock.lock();
+
+        try {
+            write();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void close() {
+        lock.lock();
+
+        try {
+            write();
+
+            if(owned) {
+                target.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void write() {
+        if(buffer.length() == 0) {
+            return;
+        }
+
+        CharBuffer chars = CharBuffer.wrap(buffer);
+        CoderResult result;
+
+        try {
+            do {
+                result = encoder.encode(chars, bytes, true);
+                drain();
+            } while(result.isOverflow());
+
+            while(encoder.flush(bytes).isOverflow()) {
+                drain();
+            }
+            drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            encoder.reset();
+            buffer.setLength(0);
+        }
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+
+        while(bytes.hasRemaining()) {
+            target.write(bytes);
+        }
+        bytes.clear();
+    }
+}
@@ -0,0 +1,125 @@
+package skorupinski.montana.interpreter;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.lexer.TokenType;
+import skorupinski.montana.parser.AST.ParallelForLoop;
+import skorupinski.montana.utils.Error.*;
+import skorupinski.montana.utils.Values;
+
+@SuppressWarnings("serial")
+public class ParallelLoop extends RecursiveTask<MemoryValue[]> {
+
+    private final Interpreter parent;
+
+    private final ParallelForLoop loop;
+
+    private final long start;
+
+    private final long step;
+
+    private final long from;
+
+    private final long to;
+
+    private final long threshold;
+
+    private final MemoryValue[] identities;
+
+    public ParallelLoop(Interpreter parent, ParallelForLoop loop, long start, long step, long from, long to,
+                        long threshold, MemoryValue[] identities) {
+        this.parent = parent;
+        this.loop = loop;
+        this.start = start;
+        this.step = step;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.identities = identities;
+    }
+
+    @Override
+    protected MemoryValue[] compute() {
+        if(to - from <= threshold) {
+            return parent.fork().runParallelRange(loop, start, step, from, to, identities);
+        }
+
+        long middle = from + (to - from) / 2;
+
+        ParallelLoop left = new ParallelLoop(parent, loop, start, step, from, middle, threshold, identities);
+        ParallelLoop right = new ParallelLoop(parent, loop, start, step, middle, to, threshold, identities);
+
+        left.fork();
+        MemoryValue[] rightTotals = right.compute();
+        MemoryValue[] leftTotals = left.join();
+
+        return combine(loop.operators, leftTotals, rightTotals);
+    }
+
+    private static MemoryValue[] combine(List<Token> operators, MemoryValue[] left, MemoryValue[] right) {
+        MemoryValue[] totals = new MemoryValue[left.length];
+
+        for(int i = 0; i < totals.length; i++) {
+            totals[i] = combine(operators.get(i), left[i], right[i]);
+        }
+
+        return totals;
+    }
+
+    private static Singular singular(MemoryValue value, Token op) {
+        if(!(value instanceof Singular)) {
+            new SyntaxError(op, "Type mismatch.").cast();
+        }
+
+        return (Singular) value;
+    }
+
+    private static Singular bool(boolean value) {
+        return new Singular(value ? Values.TRUE : Values.FALSE, Type.BOOLEAN);
+    }
+
+    public static MemoryValue identity(Token op, MemoryValue initial) {
+        if(op.typeOf(TokenType.PLUS)) {
+            return initial.type == Type.STRING ? new Singular("", Type.STRING) : new Singular(0L);
+        } else if(op.typeOf(TokenType.MULT)) {
+            return new Singular(1L);
+        }
+
+        return initial;
+    }
+
+    public static MemoryValue combine(Token op, MemoryValue a, MemoryValue b) {
+        Singular x = singular(a, op);
+        Singular y = singular(b, op);
+
+        if(op.typeOf(TokenType.PLUS)) {
+            if(x.type == Type.STRING && y.type == Type.STRING) {
+                return x.concat(y);
+            }
+        } else if(op.typeOf(TokenType.AND)) {
+            return bool(x.value().equals(Values.TRUE) && y.value().equals(Values.TRUE));
+
+        } else if(op.typeOf(TokenType.OR)) {
+            return bool(x.value().equals(Values.TRUE) || y.value().equals(Values.TRUE));
+        }
+
+        if(!x.isNumber() || !y.isNumber()) {
+            new SyntaxError(op, "Type mismatch.").cast();
+        }
+
+        switch(op.type) {
+            case PLUS:
+                return Arithmetic.add(x, y);
+            case MULT:
+                return Arithmetic.multiply(x, y);
+            default:
+                if(op.value.equals("min")) {
+                    return Arithmetic.compare(x, y) <= 0 ? x : y;
+                }
+                return Arithmetic.compare(x, y) >= 0 ? x : y;
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package skorupinski.montana.interpreter;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.interpreter.MemoryValue.Pipeline.Stage;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.utils.Error.*;
+import skorupinski.montana.utils.Values;
+
+public class PipelineMethods {
+
+    private final Interpreter interpreter;
+
+    public PipelineMethods(Interpreter interpreter) {
+        this.interpreter = interpreter;
+    }
+
+    private Function function(MemoryValue arg, Token token) {
+        if(arg.type != Type.FUNCTION) {
+            new SyntaxError(token, "Given object is not a function.").cast();
+        }
+
+        return (Function) arg;
+    }
+
+    private long count(MemoryValue arg, long minimum, Token token) {
+        if(arg.type != Type.INT || ((Singular) arg).isBig()) {
+            new SyntaxError(token, "Type mismatch.").cast();
+        }
+
+        long count = ((Singular) arg).longValue();
+
+        if(count < minimum) {
+            new ValueError(token, "Value must be at least " + minimum + ".").cast();
+        }
+
+        return count;
+    }
+
+    private MemoryValue call(Function function, Token token, MemoryValue... args) {
+        return interpreter.callFunction(function, args, token);
+    }
+
+    private boolean isTrue(MemoryValue value, Token token) {
+        if(value.type != Type.BOOLEAN) {
+            new SyntaxError(token, "Type mismatch.").cast();
+        }
+
+        return ((Singular) value).value().equals(Values.TRUE);
+    }
+
+    private Supplier<MemoryValue> stage(Stage stage, Supplier<MemoryValue> upstream, Token token) {
+        switch(stage.operation) {
+            case "map":
+            {
+                Function function = (Function) stage.argument;
+
+                return () -> {
+                    MemoryValue value = upstream.get();
+                    return value == null ? null : call(function, token, value);
+                };
+            }
+            case "filter":
+            {
+                Function function = (Function) stage.argument;
+
+                return () -> {
+                    MemoryValue value = upstream.get();
+
+                    while(value != null && !isTrue(call(function, token, value), token)) {
+                        value = upstream.get();
+                    }
+                    return value;
+                };
+            }
+            case "take":
+            {
+                long limit = ((Singular) stage.argument).longValue();
+                long[] taken = { 0 };
+
+                return () -> {
+                    if(taken[0] >= limit) {
+                        return null;
+                    }
+
+                    MemoryValue value = upstream.get();
+
+                    if(value != null) {
+                        taken[0]++;
+                    }
+                    return value;
+                };
+            }
+            case "window":
+            {
+                long size = ((Singular) stage.argument).longValue();
+                ArrayDeque<MemoryValue> window = new ArrayDeque<>();
+
+                return () -> {
+                    while(window.size() < size) {
+                        MemoryValue value = upstream.get();
+
+                        if(value == null) {
+                            return null;
+                        }
+                        window.addLast(value);
+                    }
+
+                    Array array = new Array();
+                    array.reserve(window.size());
+
+                    for(MemoryValue value : window) {
+                        array.add(value);
+                    }
+                    window.removeFirst();
+
+                    return array;
+                };
+            }
+            case "flatMap":
+            {
+                Function function = (Function) stage.argument;
+
+                return new Supplier<MemoryValue>() {
+
+                    private Supplier<MemoryValue> inner;
+
+                    @Override
+                    public MemoryValue get() {
+                        while(true) {
+                            if(inner != null) {
+                                MemoryValue value = inner.get();
+
+                                if(value != null) {
+                                    return value;
+                                }
+                            }
+
+                            MemoryValue next = upstream.get();
+
+                            if(next == null) {
+                                return null;
+                            }
+                            inner = interpreter.cursor(call(function, token, next), token);
+                        }
+                    }
+                };
+            }
+            default:
+                return upstream;
+        }
+    }
+
+    public Supplier<MemoryValue> cursor(Pipeline pipeline, Token token) {
+        Supplier<MemoryValue> cursor = interpreter.cursor(pipeline.source, token);
+
+        for(Stage stage : pipeline.stages) {
+            cursor = stage(stage, cursor, token);
+        }
+
+        return cursor;
+    }
+
+    private MemoryValue reduce(Pipeline pipeline, Function function, MemoryValue[] args, Token token) {
+        Supplier<MemoryValue> cursor = cursor(pipeline, token);
+        MemoryValue total = args.length == 2 ? args[1] : cursor.get();
+
+        if(total == null) {
+            new ValueError(token, "Reduce of empty pipeline with no initial value.").cast();
+        }
+
+        MemoryValue value = cursor.get();
+
+        while(value != null) {
+            total = call(function, token, total, value);
+            value = cursor.get();
+        }
+
+        return total;
+    }
+
+    public MemoryValue call(Pipeline pipeline, String name, MemoryValue[] args, Token token) {
+        switch(name) {
+            case "map":
+            case "filter":
+            case "flatMap":
+            {
+                Arguments.expect(token, name, args, 1);
+                return pipeline.then(name, function(args[0], token));
+            }
+            case "take":
+            {
+                Arguments.expect(token, name, args, 1);
+                count(args[0], 0, token);
+                return pipeline.then(name, args[0]);
+            }
+            case "window":
+            {
+                Arguments.expect(token, name, args, 1);
+                count(args[0], 1, token);
+                return pipeline.then(name, args[0]);
+            }
+            case "collect":
+            {
+                Arguments.expect(token, name, args, 0);
+                Supplier<MemoryValue> cursor = cursor(pipeline, token);
+
+                Array array = new Array();
+                MemoryValue value = cursor.get();
+
+                while(value != null) {
+                    array.add(value);
+                    value = cursor.get();
+                }
+                return array;
+            }
+            case "reduce":
+            {
+                if(args.length != 1 && args.length != 2) {
+                    Arguments.expect(token, name, args, 2);
+                }
+                return reduce(pipeline, function(args[0], token), args, token);
+            }
+            case "count":
+            {
+                Arguments.expect(token, name, args, 0);
+                Supplier<MemoryValue> cursor = cursor(pipeline, token);
+
+                long count = 0;
+
+                while(cursor.get() != null) {
+                    count++;
+                }
+                return new Singular(count);
+            }
+        }
+
+        new NameError(token, "Pipeline has no method " + name + ".").cast();
+
+        return null;
+    }
+}
@@ -0,0 +1,81 @@
+package skorupinski.montana.interpreter;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.parser.AST;
+
+public interface Probe {
+
+    default void enter(AST node) {}
+
+    default void exit(AST node, MemoryValue value) {}
+
+    default void call(Function function, MemoryValue[] args, Token token) {}
+
+    default void returned(Function function, MemoryValue value, Token token) {}
+
+    default void write(String name, MemoryValue value, Token token) {}
+
+    static Probe of(Probe first, Probe second) {
+        if(first == null) {
+            return second;
+        } else if(second == null) {
+            return first;
+        }
+
+        return new Probes(first, second);
+    }
+
+    static Probe without(Probe probe, Probe removed) {
+        if(probe == removed) {
+            return null;
+        } else if(probe instanceof Probes) {
+            Probes probes = (Probes) probe;
+            return of(without(probes.first, removed), without(probes.second, removed));
+        }
+
+        return probe;
+    }
+
+    final class Probes implements Probe {
+
+        private final Probe first;
+
+        private final Probe second;
+
+        private Probes(Probe first, Probe second) {
+            this.first = first;
+            this.second = second;
+        }
+
+        @Override
+        public void enter(AST node) {
+            first.enter(node);
+            second.enter(node);
+        }
+
+        @Override
+        public void exit(AST node, MemoryValue value) {
+            second.exit(node, value);
+            first.exit(node, value);
+        }
+
+        @Override
+        public void call(Function function, MemoryValue[] args, Token token) {
+            first.call(function, args, token);
+            second.call(function, args, token);
+        }
+
+        @Override
+        public void returned(Function function, MemoryValue value, Token token) {
+            second.returned(function, value, token);
+            first.returned(function, value, token);
+        }
+
+        @Override
+        public void write(String name, MemoryValue value, Token token) {
+            first.write(name, value, token);
+            second.write(name, value, token);
+        }
+    }
+}
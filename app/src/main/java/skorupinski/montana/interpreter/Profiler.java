@@ -0,0 +1,293 @@
+package skorupinski.montana.interpreter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import skorupinski.montana.lexer.Token;
+
+public class Profiler {
+
+    public static final long DEFAULT_INTERVAL_MICROS = 10_000;
+
+    public static final String MAIN = "<main>";
+
+    static class Frames {
+
+        private final Thread thread;
+
+        private String[] functions = new String[32];
+
+        private String[] files = new String[32];
+
+        private int[] lines = new int[32];
+
+        private volatile int depth;
+
+        private Frames(Thread thread) {
+            this.thread = thread;
+        }
+
+        boolean current() {
+            return thread == Thread.currentThread();
+        }
+
+        void push(String function) {
+            int top = depth;
+
+            if(top == functions.length) {
+                files = Arrays.copyOf(files, top * 2);
+                lines = Arrays.copyOf(lines, top * 2);
+                functions = Arrays.copyOf(functions, top * 2);
+            }
+
+            functions[top] = function;
+            files[top] = null;
+            lines[top] = 0;
+            depth = top + 1;
+        }
+
+        void pop() {
+            if(depth > 0) {
+                depth--;
+            }
+        }
+
+        void at(Token token) {
+            int top = depth - 1;
+
+            if(top >= 0 && token.line > 0) {
+                files[top] = token.file;
+                lines[top] = token.line;
+            }
+        }
+    }
+
+    private final long intervalNanos;
+
+    private final Map<Thread, Frames> threads;
+
+    private final ThreadLocal<Frames> frames;
+
+    private final Map<String, Long> collapsed;
+
+    private final Map<String, Long> self;
+
+    private final Map<String, Long> total;
+
+    private final Map<String, String> fileNames;
+
+    private volatile boolean running;
+
+    private Thread sampler;
+
+    private long samples;
+
+    public Profiler(long intervalMicros) {
+        this.intervalNanos = TimeUnit.MICROSECONDS.toNanos(Math.max(intervalMicros, 1));
+
+        threads = new ConcurrentHashMap<>();
+        frames = ThreadLocal.withInitial(() -> {
+            Frames current = new Frames(Thread.currentThread());
+            threads.put(current.thread, current);
+            return current;
+        });
+        collapsed = new ConcurrentHashMap<>();
+        self = new ConcurrentHashMap<>();
+        total = new ConcurrentHashMap<>();
+        fileNames = new ConcurrentHashMap<>();
+    }
+
+    public Profiler() {
+        this(DEFAULT_INTERVAL_MICROS);
+    }
+
+    private String label(String function, String file, int line) {
+        if(file == null) {
+            return function;
+        }
+
+        return function + " (" + fileName(file) + ":" + line + ")";
+    }
+
+    private List<String> snapshot(Frames current) {
+        int size = current.depth;
+        String[] functions = current.functions;
+        String[] files = current.files;
+        int[] lines = current.lines;
+
+        size = Math.min(size, Math.min(functions.length, Math.min(files.length, lines.length)));
+        List<String> stack = new ArrayList<>(size);
+
+        for(int i = 0; i < size; i++) {
+            String function = functions[i];
+
+            if(function == null) {
+                break;
+            }
+            stack.add(label(function, files[i], lines[i]));
+        }
+
+        return stack;
+    }
+
+    Frames frames() {
+        return frames.get();
+    }
+
+    private String fileName(String path) {
+        return fileNames.computeIfAbsent(path, file -> {
+            Path name = Path.of(file).getFileName();
+            return name == null ? file : name.toString();
+        });
+    }
+
+    private void sample() {
+        for(Frames current : threads.values()) {
+            if(!current.thread.isAlive()) {
+                threads.remove(current.thread);
+                continue;
+            }
+
+            if(current.depth == 0 || current.thread.getState() != Thread.State.RUNNABLE) {
+                continue;
+            }
+
+            List<String> stack = snapshot(current);
+
+            if(stack.isEmpty()) {
+                continue;
+            }
+
+            StringBuilder key = new StringBuilder();
+            Set<String> seen = new HashSet<>();
+
+            for(String frame : stack) {
+                if(key.length() > 0) {
+                    key.append(';');
+                }
+                key.append(frame);
+
+                if(seen.add(frame)) {
+                    total.merge(frame, 1L, Long::sum);
+                }
+            }
+
+            collapsed.merge(key.toString(), 1L, Long::sum);
+            self.merge(stack.get(stack.size() - 1), 1L, Long::sum);
+            samples++;
+        }
+    }
+
+    private void run() {
+        long next = System.nanoTime();
+
+        while(running) {
+            sample();
+
+            next += intervalNanos;
+            long delay = next - System.nanoTime();
+
+            if(delay > 0) {
+                LockSupport.parkNanos(delay);
+            } else {
+                next = System.nanoTime();
+            }
+        }
+    }
+
+    public void start() {
+        if(sampler != null) {
+            return;
+        }
+
+        running = true;
+        sampler = new Thread(this::run, "montana-profiler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    public void stop() {
+        if(sampler == null) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(sampler);
+
+        try {
+            sampler.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        sampler = null;
+    }
+
+    public long samples() {
+        return samples;
+    }
+
+    public Map<String, Long> collapsed() {
+        return collapsed;
+    }
+
+    private static List<Map.Entry<String, Long>> sorted(Map<String, Long> counts) {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(counts.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        return entries;
+    }
+
+    public void writeCollapsed(Appendable out) throws IOException {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(collapsed.entrySet());
+        entries.sort(Map.Entry.comparingByKey());
+
+        for(Map.Entry<String, Long> entry : entries) {
+            out.append(entry.getKey()).append(' ').append(Long.toString(entry.getValue())).append('\n');
+        }
+    }
+
+    public void writeCollapsed(String path) throws IOException {
+        try(BufferedWriter writer = Files.newBufferedWriter(Path.of(path), StandardCharsets.UTF_8)) {
+            writeCollapsed(writer);
+        }
+    }
+
+    public String top(int limit) {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%10s %7s %10s %7s  %s%n", "self", "self%", "total", "total%", "frame"));
+
+        int rows = 0;
+
+        for(Map.Entry<String, Long> entry : sorted(self)) {
+            if(rows++ == limit) {
+                break;
+            }
+
+            long selfSamples = entry.getValue();
+            long totalSamples = total.getOrDefault(entry.getKey(), selfSamples);
+
+            table.append(String.format("%10d %6.2f%% %10d %6.2f%%  %s%n",
+                         selfSamples, percent(selfSamples), totalSamples, percent(totalSamples), entry.getKey()));
+        }
+
+        table.append(samples).append(" samples");
+
+        return table.toString();
+    }
+
+    private double percent(long count) {
+        return samples == 0 ? 0.0 : 100.0 * count / samples;
+    }
+}
@@ -0,0 +1,21 @@
+package skorupinski.montana.interpreter;
+
+import skorupinski.montana.parser.AST;
+
+public class Program {
+
+    public final String path;
+
+    public final String directory;
+
+    public final AST tree;
+
+    public final long lastModified;
+
+    public Program(String path, String directory, AST tree, long lastModified) {
+        this.path = path;
+        this.directory = directory;
+        this.tree = tree;
+        this.lastModified = lastModified;
+    }
+}
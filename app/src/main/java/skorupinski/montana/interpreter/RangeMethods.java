@@ -0,0 +1,145 @@
+package skorupinski.montana.interpreter;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+
+import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.utils.Error.*;
+import skorupinski.montana.utils.Values;
+
+public class RangeMethods {
+
+    private final ArrayMethods arrayMethods;
+
+    public RangeMethods(ArrayMethods arrayMethods) {
+        this.arrayMethods = arrayMethods;
+    }
+
+    private long integer(MemoryValue arg, Token token) {
+        if(arg.type != Type.INT || ((Singular) arg).isBig()) {
+            new SyntaxError(token, "Type mismatch.").cast();
+        }
+
+        return ((Singular) arg).longValue();
+    }
+
+    private int size(Range range, Token token) {
+        if(range.size > Integer.MAX_VALUE) {
+            new ValueError(token, "Range is too large to collect.").cast();
+        }
+
+        return (int) range.size;
+    }
+
+    private Singular element(Range range, int index) {
+        return new Singular(range.get(index));
+    }
+
+    private Singular sum(Range range) {
+        BigInteger count = BigInteger.valueOf(range.size);
+        BigInteger first = BigInteger.valueOf(range.start);
+        BigInteger last = BigInteger.valueOf(range.get(range.size - 1));
+
+        return new Singular(count.multiply(first.add(last)).shiftRight(1));
+    }
+
+    private Array minmax(Range range, Token token) {
+        if(range.size == 0) {
+            new ValueError(token, "Range is empty.").cast();
+        }
+
+        long first = range.start;
+        long last = range.get(range.size - 1);
+
+        Array bounds = new Array();
+        bounds.add(new Singular(Math.min(first, last)));
+        bounds.add(new Singular(Math.max(first, last)));
+
+        return bounds;
+    }
+
+    public MemoryValue call(Range range, String name, MemoryValue[] args, Token token) {
+        switch(name) {
+            case "stream":
+            {
+                Arguments.expect(token, name, args, 0);
+                return new Pipeline(range, new ArrayList<>());
+            }
+            case "size":
+            {
+                Arguments.expect(token, name, args, 0);
+                return new Singular(range.size);
+            }
+            case "has":
+            {
+                Arguments.expect(token, name, args, 1);
+                boolean has = args[0].type == Type.INT && !((Singular) args[0]).isBig() && 
+                              range.contains(((Singular) args[0]).longValue());
+                return new Singular(has ? Values.TRUE : Values.FALSE, Type.BOOLEAN);
+            }
+            case "get":
+            {
+                Arguments.expect(token, name, args, 1);
+                long index = integer(args[0], token);
+
+                if(index < 0 || index >= range.size) {
+                    new SyntaxError(token, "Index out of bounds.").cast();
+                }
+                return new Singular(range.get(index));
+            }
+            case "slice":
+            {
+                Arguments.expect(token, name, args, 2);
+                return range.slice(integer(args[0], token), integer(args[1], token));
+            }
+            case "sum":
+            {
+                Arguments.expect(token, name, args, 0);
+                return range.size == 0 ? new Singular(0L) : sum(range);
+            }
+            case "minmax":
+            {
+                Arguments.expect(token, name, args, 0);
+                return minmax(range, token);
+            }
+            case "map":
+            {
+                Arguments.expect(token, name, args, 1);
+                Function function = arrayMethods.function(args[0], token);
+                return arrayMethods.array(arrayMethods.apply(function, size(range, token), i -> element(range, i), token));
+            }
+            case "filter":
+            {
+                Arguments.expect(token, name, args, 1);
+                Function function = arrayMethods.function(args[0], token);
+                return arrayMethods.filter(function, size(range, token), i -> element(range, i), token);
+            }
+            case "reduce":
+            {
+                if(args.length != 1 && args.length != 2) {
+                    Arguments.expect(token, name, args, 2);
+                }
+                Function function = arrayMethods.function(args[0], token);
+                return arrayMethods.reduce(function, size(range, token), i -> element(range, i), args, token);
+            }
+            case "collect":
+            {
+                Arguments.expect(token, name, args, 0);
+                int size = size(range, token);
+
+                Array array = new Array();
+                array.reserve(size);
+
+                for(int i = 0; i < size; i++) {
+                    array.add(element(range, i));
+                }
+                return array;
+            }
+        }
+
+        new NameError(token, "Range has no method " + name + ".").cast();
+
+        return null;
+    }
+}
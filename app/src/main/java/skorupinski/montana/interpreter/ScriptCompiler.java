@@ -0,0 +1,90 @@
+package skorupinski.montana.interpreter;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import skorupinski.montana.lexer.Lexer;
+import skorupinski.montana.parser.AST;
+import skorupinski.montana.parser.Parser;
+import skorupinski.montana.utils.Events;
+
+public class ScriptCompiler {
+
+    private final ConcurrentHashMap<String, Program> programs;
+
+    public ScriptCompiler() {
+        programs = new ConcurrentHashMap<>();
+    }
+
+    static <T> T phase(String name, String path, Timings timings, Supplier<T> body) {
+        Events.Phase event = new Events.Phase(name, path);
+        Timings.Timer timer = timings == null ? null : timings.start(name, path);
+        event.begin();
+
+        try {
+            return body.get();
+        } finally {
+            event.commit();
+
+            if(timer != null) {
+                timer.stop();
+            }
+        }
+    }
+
+    public Program compile(String path) {
+        return compile(path, null);
+    }
+
+    public Program compile(String path, Timings timings) {
+        File file = new File(path).getAbsoluteFile();
+        String key = file.getPath();
+
+        Program cached = programs.get(key);
+        if(cached != null && cached.lastModified == file.lastModified()) {
+            return cached;
+        }
+
+        Program program = compile(file, timings);
+        programs.put(key, program);
+
+        return program;
+    }
+
+    private Program compile(File file, Timings timings) {
+        long lastModified = file.lastModified();
+        String path = file.getPath();
+
+        Lexer lexer = phase("read", path, timings, () -> new Lexer(path));
+        AST tree = phase("parse", path, timings, () -> new Parser(lexer).parse());
+
+        phase("analyze", path, timings, () -> {
+            new SemanticAnalyzer().visit(tree);
+            return null;
+        });
+
+        return new Program(file.getPath(), file.getParentFile().getPath(), tree, lastModified);
+    }
+
+    public Program compile(String name, String source, int line, String directory, SymbolTable globals,
+                           Timings timings) {
+        Lexer lexer = phase("read", name, timings, () -> new Lexer(name, source, line));
+        AST tree = phase("parse", name, timings, () -> new Parser(lexer).parse());
+        HashMap<String, Symbol> defined = new HashMap<>(globals.symbols);
+
+        try {
+            phase("analyze", name, timings, () -> {
+                new SemanticAnalyzer(globals).visit(tree);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            globals.symbols.clear();
+            globals.symbols.putAll(defined);
+            throw e;
+        }
+
+        return new Program(name, directory, tree, 0);
+    }
+}
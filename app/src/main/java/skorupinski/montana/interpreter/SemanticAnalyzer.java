@@ -1,18 +1,63 @@
 package skorupinski.montana.interpreter;
 
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
 import skorupinski.montana.lexer.Token;
+import skorupinski.montana.lexer.TokenType;
 import skorupinski.montana.parser.AST;
 import skorupinski.montana.parser.AST.*;
 import skorupinski.montana.utils.Error.*;
 
 public class SemanticAnalyzer {
+
+    private static final Set<String> MUTATORS = Set.of("append", "pop", "insert", "remove", "reserve", "sort", "next", "close");
+
+    private static class Purity {
+
+        private final String name;
+
+        private final SymbolTable scope;
+
+        private final Set<String> params;
+
+        private final Purity enclosing;
+
+        private boolean pure;
+
+        private Purity(String name, SymbolTable scope, Set<String> params, Purity enclosing) {
+            this.name = name;
+            this.scope = scope;
+            this.params = params;
+            this.enclosing = enclosing;
+            this.pure = true;
+        }
+    }
     
     private SymbolTable currentScope;
 
+    private SymbolTable parallelScope;
+
+    private Map<String, Token> reductions;
+
+    private Set<String> aliases;
+
+    private Purity function;
+
     public SemanticAnalyzer() {
         currentScope = null;
+        parallelScope = null;
+        reductions = new HashMap<>();
+        aliases = new HashSet<>();
+    }
+
+    public SemanticAnalyzer(SymbolTable globals) {
+        this();
+        currentScope = globals;
     }
 
     private void enterNewScope() {
@@ -38,6 +83,11 @@ public class SemanticAnalyzer {
         try {
             Method method = getClass().getMethod("visit" + className, node.getClass());
             method.invoke(this, node);
+        } catch (InvocationTargetException e) {
+            if(e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            e.printStackTrace();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -70,9 +120,210 @@ public class SemanticAnalyzer {
         }
     }
     
+    private boolean isLocal(String name, SymbolTable boundary) {
+        SymbolTable scope = currentScope;
+
+        while(scope != null) {
+            if(scope.lookup(name, true) != null) {
+                return true;
+            }
+
+            if(scope == boundary) {
+                break;
+            }
+            scope = scope.enclosingScope;
+        }
+
+        return false;
+    }
+
+    private static Token root(AST target) {
+        while(target instanceof ArrayAccess || target instanceof ObjectDive) {
+            target = target instanceof ArrayAccess ? ((ArrayAccess) target).array : ((ObjectDive) target).parent;
+        }
+
+        return target instanceof Variable ? ((Variable) target).variable : null;
+    }
+
+    private boolean isAlias(AST value) {
+        if(value instanceof FunctionCall) {
+            for(AST param : ((FunctionCall) value).params) {
+                if(isAlias(param)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        if(value instanceof ArrayInit) {
+            for(AST element : ((ArrayInit) value).elements) {
+                if(isAlias(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        if(value instanceof DictionaryInit) {
+            for(AST element : ((DictionaryInit) value).values) {
+                if(isAlias(element)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Token name = root(value);
+
+        if(name == null) {
+            return false;
+        }
+
+        Symbol symbol = currentScope.lookup(name.value, false);
+
+        if(symbol != null && symbol.kind != Symbol.Kind.VARIABLE) {
+            return false;
+        }
+
+        if(aliases.contains(name.value)) {
+            return true;
+        }
+
+        return !isLocal(name.value, parallelScope.enclosingScope) && !reductions.containsKey(name.value);
+    }
+
+    private static Set<String> names(AST node) {
+        Set<String> names = new HashSet<>();
+
+        node.walk(child -> {
+            if(child instanceof Variable) {
+                names.add(((Variable) child).variable.value);
+            }
+        });
+
+        return names;
+    }
+
+    private static boolean isReduction(AST value, String name, Token op) {
+        if(op.typeOf(TokenType.IDENTIFIER)) {
+            return !names(value).contains(name);
+        }
+
+        boolean folded = false;
+
+        while(true) {
+            AST left;
+            AST right;
+            Token operator;
+
+            if(value instanceof BinaryOperator) {
+                left = ((BinaryOperator) value).left;
+                right = ((BinaryOperator) value).right;
+                operator = ((BinaryOperator) value).op;
+            } else if(value instanceof DoubleCondition) {
+                left = ((DoubleCondition) value).left;
+                right = ((DoubleCondition) value).right;
+                operator = ((DoubleCondition) value).op;
+            } else {
+                break;
+            }
+
+            if(!operator.typeOf(op.type) || names(right).contains(name)) {
+                return false;
+            }
+
+            value = left;
+            folded = true;
+        }
+
+        return folded && value instanceof Variable && ((Variable) value).variable.value.equals(name);
+    }
+
+    private void checkParallelWrite(AST target, boolean mutation, String message) {
+        Token name = root(target);
+
+        if(name == null) {
+            return;
+        }
+
+        boolean local = isLocal(name.value, parallelScope);
+
+        if(local && !(mutation && aliases.contains(name.value))) {
+            return;
+        }
+
+        if(!local && reductions.containsKey(name.value)) {
+            nameError(name, "Reduction variable " + name.value + " is " + message + " in a parallel loop.");
+        }
+
+        nameError(name, "Variable " + name.value + " is " + message + " in a parallel loop without a reduction.");
+    }
+
+    private void checkFunctionWrite(AST target) {
+        Token name = root(target);
+
+        if(name == null) {
+            return;
+        }
+
+        boolean local = isLocal(name.value, function.scope);
+
+        if(target instanceof Variable ? !local : !local || function.params.contains(name.value)) {
+            function.pure = false;
+        }
+    }
+
+    private boolean isAnalyzing(String name) {
+        for(Purity enclosing = function; enclosing != null; enclosing = enclosing.enclosing) {
+            if(enclosing.name.equals(name)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private void impureCall(Token token, String name) {
+        if(parallelScope != null) {
+            nameError(token, "Function " + name + " called in a parallel loop is not known to be pure.");
+        }
+
+        if(function != null) {
+            function.pure = false;
+        }
+    }
+
+    private void checkParallelAssign(Assign assign) {
+        if(!(assign.left instanceof Variable)) {
+            checkParallelWrite(assign.left, true, "written");
+            return;
+        }
+
+        String name = ((Variable) assign.left).variable.value;
+        Token op = isLocal(name, parallelScope) ? null : reductions.get(name);
+
+        if(op != null && isReduction(assign.right, name, op)) {
+            return;
+        }
+
+        checkParallelWrite(assign.left, false, "written");
+
+        if(isAlias(assign.right)) {
+            aliases.add(name);
+        }
+    }
+
     public void visitAssign(Assign assign) {
         visit(assign.left);
         visit(assign.right);
+
+        if(parallelScope != null) {
+            checkParallelAssign(assign);
+        }
+
+        if(function != null) {
+            checkFunctionWrite(assign.left);
+        }
     }
     
     public void visitVariable(Variable var) {
@@ -82,6 +333,10 @@ public class SemanticAnalyzer {
         if(varSymbol == null) {
             nameError(var.variable, "Variable " + var.variable.value + " has not been declared.");
         }
+
+        if(varSymbol.kind == Symbol.Kind.FUNCTION && !varSymbol.pure && !isAnalyzing(varName)) {
+            impureCall(var.variable, varName);
+        }
     }
     
     public void visitNoOperator(NoOperator noOp) {}
@@ -96,6 +351,16 @@ public class SemanticAnalyzer {
     }
     
     public void visitVariableDeclaration(VariableDeclaration decl) {
+        Set<String> bound = new HashSet<>();
+
+        for(Assign assignment : decl.assignments) {
+            visit(assignment.right);
+
+            if(parallelScope != null && isAlias(assignment.right)) {
+                bound.add(((Variable) assignment.left).variable.value);
+            }
+        }
+
         for(Variable var : decl.variables) {
             String name = var.variable.value;
     
@@ -107,6 +372,8 @@ public class SemanticAnalyzer {
     
             currentScope.define(symbol);
         }
+
+        aliases.addAll(bound);
     }
     
     public void visitIfCondition(IfCondition cond) {
@@ -127,21 +394,52 @@ public class SemanticAnalyzer {
         }
     }
     
+    public void visitDictionaryInit(DictionaryInit dictionaryInit) {
+        for(AST node : dictionaryInit.keys) {
+            visit(node);
+        }
+
+        for(AST node : dictionaryInit.values) {
+            visit(node);
+        }
+    }
+    
     public void visitArrayAccess(ArrayAccess access) {
         visit(access.array);
         visit(access.index);
     }
     
     public void visitFunctionInit(FunctionInit functionInit) {
-        Symbol functionSymbol = new Symbol(functionInit.functionName);
-        currentScope.define(functionSymbol);
+        String name = functionInit.functionName;
+        currentScope.define(new Symbol(name, Symbol.Kind.FUNCTION, false));
+
+        SymbolTable enclosingParallel = parallelScope;
+        Set<String> enclosingAliases = aliases;
+        parallelScope = null;
+        aliases = new HashSet<>();
     
         enterNewScope();
+
+        Set<String> params = new HashSet<>();
+
+        for(Variable param : functionInit.params.variables) {
+            params.add(param.variable.value);
+        }
+
+        Purity enclosingFunction = function;
+        function = new Purity(name, currentScope, params, enclosingFunction);
     
         visit(functionInit.params);
         visit(functionInit.block);
+
+        boolean pure = function.pure;
+        function = enclosingFunction;
     
         leaveScope();
+
+        parallelScope = enclosingParallel;
+        aliases = enclosingAliases;
+        currentScope.define(new Symbol(name, Symbol.Kind.FUNCTION, pure));
     }
     
     public void visitFunctionCall(FunctionCall funcCall) {
@@ -151,7 +449,45 @@ public class SemanticAnalyzer {
         }
     }
     
+    public void visitSpawn(Spawn spawn) {
+        visit(spawn.call);
+    }
+
+    public void visitAwait(Await await) {
+        visit(await.future);
+    }
+
+    public void visitChannelInit(ChannelInit channel) {
+        if(channel.capacity != null) {
+            visit(channel.capacity);
+        }
+    }
+
+    public void visitRangeInit(RangeInit range) {
+        for(AST bound : range.bounds) {
+            visit(bound);
+        }
+    }
+
+    public void visitSelect(Select select) {
+        for(AST channel : select.channels) {
+            visit(channel);
+        }
+    }
+    
+    public void visitYield(Yield yield) {
+        if(parallelScope != null) {
+            new SyntaxError(yield.token, "Yield statement inside parallel loop.").cast();
+        }
+
+        visit(yield.value);
+    }
+
     public void visitReturn(Return ret) {
+        if(parallelScope != null) {
+            new SyntaxError(ret.token, "Return statement inside parallel loop.").cast();
+        }
+
         visit(ret.returnable);
     }
     
@@ -164,6 +500,8 @@ public class SemanticAnalyzer {
     }
 
     public void visitForLoop(ForLoop forLoop) {
+        enterNewScope();
+
         visit(forLoop.init);
         visit(forLoop.condition);
         visit(forLoop.assign);
@@ -171,6 +509,57 @@ public class SemanticAnalyzer {
         enterNewScope();
         visit(forLoop.statement);
         leaveScope();
+
+        leaveScope();
+    }
+
+    public void visitForEachLoop(ForEachLoop loop) {
+        visit(loop.iterable);
+
+        enterNewScope();
+        currentScope.define(new Symbol(loop.variable.variable.value));
+
+        enterNewScope();
+        visit(loop.statement);
+        leaveScope();
+
+        leaveScope();
+    }
+
+    public void visitParallelForLoop(ParallelForLoop parallel) {
+        ForLoop loop = parallel.loop;
+
+        for(Variable reduction : parallel.reductions) {
+            visit(reduction);
+        }
+
+        enterNewScope();
+
+        visit(loop.init);
+        visit(loop.condition);
+        visit(loop.assign);
+
+        SymbolTable enclosingParallel = parallelScope;
+        Map<String, Token> enclosingReductions = reductions;
+        Set<String> enclosingAliases = aliases;
+
+        enterNewScope();
+        parallelScope = currentScope;
+        reductions = new HashMap<>();
+        aliases = new HashSet<>();
+
+        for(int i = 0; i < parallel.reductions.size(); i++) {
+            reductions.put(parallel.reductions.get(i).variable.value, parallel.operators.get(i));
+        }
+
+        visit(loop.statement);
+
+        parallelScope = enclosingParallel;
+        reductions = enclosingReductions;
+        aliases = enclosingAliases;
+        leaveScope();
+
+        leaveScope();
     }
     
     public void visitCastValue(CastValue cast) {
@@ -178,12 +567,49 @@ public class SemanticAnalyzer {
     }
     
     public void visitImport(Import im) {
-        Symbol importName = new Symbol(im.name);
-        currentScope.define(importName);
+        boolean builtin = im.token.typeOf(TokenType.BUILT_IN_LIB);
+        currentScope.define(new Symbol(im.name, Symbol.Kind.MODULE, builtin));
     }
     
     public void visitObjectDive(ObjectDive dive) {
         visit(dive.parent);
         //visit(dive.child);
+
+        if(!(dive.child instanceof FunctionCall)) {
+            return;
+        }
+
+        FunctionCall call = (FunctionCall) dive.child;
+
+        for(AST param : call.params) {
+            visit(param);
+        }
+
+        if(!(call.function instanceof Variable)) {
+            return;
+        }
+
+        String method = ((Variable) call.function).variable.value;
+        Token receiver = root(dive.parent);
+        Symbol symbol = receiver == null ? null : currentScope.lookup(receiver.value, false);
+
+        if(symbol != null && symbol.kind == Symbol.Kind.MODULE) {
+            if(!symbol.pure) {
+                impureCall(call.function.token, receiver.value + ":" + method);
+            }
+            return;
+        }
+
+        if(!MUTATORS.contains(method)) {
+            return;
+        }
+
+        if(parallelScope != null) {
+            checkParallelWrite(dive.parent, true, "modified by " + method);
+        }
+
+        if(function != null) {
+            checkFunctionWrite(dive);
+        }
     }
 }
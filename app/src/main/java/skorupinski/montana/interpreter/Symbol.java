@@ -1,10 +1,26 @@
 package skorupinski.montana.interpreter;
 
 public class Symbol {
+
+    public enum Kind {
+        VARIABLE,
+        FUNCTION,
+        MODULE
+    }
     
     public final String name;
 
+    public final Kind kind;
+
+    public final boolean pure;
+
     public Symbol(String name) {
+        this(name, Kind.VARIABLE, true);
+    }
+
+    public Symbol(String name, Kind kind, boolean pure) {
         this.name = name;
+        this.kind = kind;
+        this.pure = pure;
     }
 }
@@ -35,13 +35,13 @@ public class SymbolTable {
 
     @Override
     public String toString() {
-        String result = "Symbols: \n";
+        StringBuilder result = new StringBuilder("Symbols: \n");
     
         for(Symbol symbol : symbols.values()) {
-            result += symbol.name;
-            result += "\n";
+            result.append(symbol.name);
+            result.append("\n");
         }
     
-        return result;
+        return result.toString();
     }
 }
@@ -0,0 +1,173 @@
+package skorupinski.montana.interpreter;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import skorupinski.montana.utils.Json;
+
+public class Timings {
+
+    public static class Entry {
+
+        public final String phase;
+
+        public final String path;
+
+        public final long nanos;
+
+        public final long bytes;
+
+        public final int depth;
+
+        public Entry(String phase, String path, long nanos, long bytes, int depth) {
+            this.phase = phase;
+            this.path = path;
+            this.nanos = nanos;
+            this.bytes = bytes;
+            this.depth = depth;
+        }
+    }
+
+    public class Timer {
+
+        private final String phase;
+
+        private final String path;
+
+        private final long start;
+
+        private final long allocated;
+
+        private final int depth;
+
+        private final int slot;
+
+        private Timer(String phase, String path) {
+            this.phase = phase;
+            this.path = path;
+            this.depth = depth();
+            this.slot = reserve();
+            this.allocated = allocatedBytes();
+            this.start = System.nanoTime();
+
+            nesting.set(depth + 1);
+        }
+
+        public void stop() {
+            long nanos = System.nanoTime() - start;
+            long bytes = allocated < 0 ? -1 : allocatedBytes() - allocated;
+
+            nesting.set(depth);
+            fill(slot, new Entry(phase, path, nanos, bytes, depth));
+        }
+    }
+
+    private static final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+    private final List<Entry> entries;
+
+    private final InheritableThreadLocal<Integer> nesting;
+
+    public Timings() {
+        entries = new ArrayList<>();
+        nesting = new InheritableThreadLocal<>();
+    }
+
+    public static long allocatedBytes() {
+        if(threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getTotalThreadAllocatedBytes();
+        }
+
+        return -1;
+    }
+
+    private int depth() {
+        Integer depth = nesting.get();
+        return depth == null ? 0 : depth;
+    }
+
+    public Timer start(String phase, String path) {
+        return new Timer(phase, path);
+    }
+
+    private synchronized int reserve() {
+        entries.add(null);
+        return entries.size() - 1;
+    }
+
+    private synchronized void fill(int slot, Entry entry) {
+        entries.set(slot, entry);
+    }
+
+    public synchronized void record(String phase, String path, long nanos, long bytes) {
+        entries.add(new Entry(phase, path, nanos, bytes, depth()));
+    }
+
+    public synchronized List<Entry> entries() {
+        List<Entry> finished = new ArrayList<>(entries.size());
+
+        for(Entry entry : entries) {
+            if(entry != null) {
+                finished.add(entry);
+            }
+        }
+
+        return finished;
+    }
+
+    private static String fileName(String path) {
+        if(path.isEmpty() || path.startsWith("$")) {
+            return path;
+        }
+
+        Path name = Path.of(path).getFileName();
+        return name == null ? path : name.toString();
+    }
+
+    private static String bytes(long bytes) {
+        return bytes < 0 ? "-" : String.format("%.1f", bytes / 1024.0);
+    }
+
+    public String table() {
+        StringBuilder table = new StringBuilder();
+        table.append(String.format("%-14s %12s %18s  %s%n", "phase", "wall ms", "process alloc KiB", "file"));
+
+        for(Entry entry : entries()) {
+            String phase = "  ".repeat(entry.depth) + entry.phase;
+
+            table.append(String.format("%-14s %12.3f %18s  %s%n", phase, entry.nanos / 1e6, bytes(entry.bytes),
+                                       fileName(entry.path)));
+        }
+
+        table.append("Indented phases are included in the phase above them. ");
+        table.append("Allocation counts every thread in the process.");
+
+        return table.toString();
+    }
+
+    public String json() {
+        StringBuilder json = new StringBuilder("[");
+        List<Entry> entries = entries();
+
+        for(int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+
+            if(i > 0) {
+                json.append(',');
+            }
+
+            json.append("\n  {\"phase\": ");
+            Json.string(json, entry.phase);
+            json.append(", \"path\": ");
+            Json.string(json, entry.path);
+            json.append(", \"nanos\": ").append(entry.nanos);
+            json.append(", \"bytes\": ").append(entry.bytes);
+            json.append(", \"depth\": ").append(entry.depth).append('}');
+        }
+
+        return json.append("\n]").toString();
+    }
+}
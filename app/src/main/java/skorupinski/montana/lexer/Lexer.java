@@ -59,6 +59,14 @@ public class Lexer {
         put("bool", TokenType.CAST_BOOL);
         put("import", TokenType.IMPORT);
         put("class", TokenType.CLASS);
+        put("parallel", TokenType.PARALLEL);
+        put("spawn", TokenType.SPAWN);
+        put("await", TokenType.AWAIT);
+        put("channel", TokenType.CHANNEL);
+        put("select", TokenType.SELECT);
+        put("yield", TokenType.YIELD);
+        put("in", TokenType.IN);
+        put("range", TokenType.RANGE);
     }};
 
     private int position;
@@ -89,6 +97,17 @@ public class Lexer {
         currentChar = code.length() > 0 ? code.charAt(position) : '\0';
     }
 
+    public Lexer(String file, String code, int line) {
+        this.file = file;
+        this.code = code;
+
+        position = 0;
+        this.line = line;
+        column = 1;
+
+        currentChar = code.length() > 0 ? code.charAt(position) : '\0';
+    }
+
     private Token createToken(TokenType type, String value) {
         return new Token(type, value, line, column, file);
     }
@@ -195,7 +214,17 @@ public class Lexer {
             }
     
             if(Character.isDigit(currentChar)) {
-                return createToken(TokenType.FLOAT, number());
+                int startLine = line;
+                int startColumn = column;
+                String number = number();
+
+                if(number.indexOf('.') != number.lastIndexOf('.')) {
+                    String message = "Malformed number: " + number;
+                    new SyntaxError(file, startLine, startColumn, message).cast();
+                }
+
+                TokenType type = number.indexOf('.') >= 0 ? TokenType.FLOAT : TokenType.INT;
+                return createToken(type, number);
             }
     
             if(Character.isAlphabetic(currentChar) || currentChar == '_') {
@@ -1,6 +1,8 @@
 package skorupinski.montana.lexer;
 
-public class Token {
+import skorupinski.montana.utils.Allocations;
+
+public final class Token {
 
     public final TokenType type;
 
@@ -18,6 +20,8 @@ public class Token {
         this.line = line;
         this.column = column;
         this.file = file;
+
+        Allocations.allocated(this);
     }
 
     public Token(TokenType type, String value) {
@@ -26,6 +30,8 @@ public class Token {
         this.line = 0;
         this.column = 0;
         this.file = "";
+
+        Allocations.allocated(this);
     }
 
     public boolean typeOf(TokenType type) {
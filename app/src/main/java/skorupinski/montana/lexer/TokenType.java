@@ -1,6 +1,7 @@
 package skorupinski.montana.lexer;
 
 public enum TokenType {
+    INT,
     FLOAT,
     PLUS,
     MINUS,
@@ -49,6 +50,14 @@ public enum TokenType {
     IMPORT,
     BUILT_IN_LIB,
     POWER,
+    PARALLEL,
+    SPAWN,
+    AWAIT,
+    CHANNEL,
+    SELECT,
+    YIELD,
+    IN,
+    RANGE,
     INCREMENT,
     DECREMENT,
     PLUS_EQ,
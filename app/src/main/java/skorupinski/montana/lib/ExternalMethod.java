@@ -1,11 +1,18 @@
 package skorupinski.montana.lib;
 
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
 import skorupinski.montana.interpreter.MemoryValue;
 import skorupinski.montana.interpreter.MemoryValue.*;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.utils.Events;
+import skorupinski.montana.utils.Error.*;
+import skorupinski.montana.utils.Values;
 
 public class ExternalMethod {
 
@@ -15,44 +22,148 @@ public class ExternalMethod {
 
     public final Class<?> module;
 
+    private final boolean located;
+
     public ExternalMethod(Class<?> module, Method method, Class<?>[] paramTypes) {
         this.module = module;
         this.method = method;
         this.paramTypes = paramTypes;
+
+        boolean located = false;
+
+        for(Constructor<?> constructor : module.getDeclaredConstructors()) {
+            Class<?>[] types = constructor.getParameterTypes();
+            located |= types.length == 1 && types[0] == Path.class;
+        }
+
+        this.located = located;
     }
 
-    private Object parseParam(MemoryValue param, Class<?> type) {
-        if(param instanceof Singular) {
-            Singular sing = (Singular) param;
-            return type.cast(sing.value);
+    private Object instance(String directory) throws ReflectiveOperationException {
+        if(!located) {
+            return module.getDeclaredConstructor().newInstance();
+        }
+
+        Path base = directory == null ? Path.of("").toAbsolutePath() : Path.of(directory);
+        return module.getDeclaredConstructor(Path.class).newInstance(base);
+    }
+
+    private Singular singular(MemoryValue param, Token token) {
+        if(!(param instanceof Singular)) {
+            new SyntaxError(token, "Type mismatch.").cast();
+        }
+
+        return (Singular) param;
+    }
+
+    private Object parseParam(MemoryValue param, Class<?> type, Token token) {
+        if(type.isInstance(param)) {
+            return param;
+        } else if(type == String.class) {
+            return singular(param, token).value();
+        } else if(type == long.class || type == Long.class) {
+            return singular(param, token).longValue();
+        } else if(type == int.class || type == Integer.class) {
+            return (int) singular(param, token).longValue();
+        } else if(type == double.class || type == Double.class) {
+            return singular(param, token).doubleValue();
+        } else if(type == boolean.class || type == Boolean.class) {
+            return singular(param, token).value().equals(Values.TRUE);
 
         } else if(param instanceof Array) {
             Array array = (Array) param;
             
             List<Object> list = new ArrayList<>();
 
-            for(MemoryValue value : array.elements) {
-                list.add(parseParam(value, type));
+            for(int i = 0; i < array.size(); i++) {
+                list.add(parseParam(array.get(i), Object.class, token));
             }
 
             return list;
+        } else if(param instanceof Singular) {
+            return ((Singular) param).value();
         }
 
+        new SyntaxError(token, "Type mismatch.").cast();
+
         return null;
     }
 
-    public MemoryValue call(MemoryValue[] params) {
+    private MemoryValue parseReturn(Object ret) {
+        if(ret == null) {
+            return null;
+        } else if(ret instanceof MemoryValue) {
+            return (MemoryValue) ret;
+        } else if(ret instanceof String) {
+            return new Singular((String) ret, Type.STRING);
+        } else if(ret instanceof Long || ret instanceof Integer) {
+            return new Singular(((Number) ret).longValue());
+        } else if(ret instanceof Double || ret instanceof Float) {
+            return new Singular(((Number) ret).doubleValue());
+        } else if(ret instanceof Boolean) {
+            return new Singular((Boolean) ret ? Values.TRUE : Values.FALSE, Type.BOOLEAN);
+
+        } else if(ret instanceof List) {
+            Array array = new Array();
+
+            for(Object element : (List<?>) ret) {
+                MemoryValue value = parseReturn(element);
+                array.add(value != null ? value : new Singular(Values.NONE, Type.NONE));
+            }
+
+            return array;
+        }
+
+        return new Singular(ret.toString(), Type.STRING);
+    }
+
+    private static String describe(Throwable cause) {
+        return cause.getMessage() != null ? cause.getMessage() : cause.getClass().getSimpleName();
+    }
+
+    public MemoryValue call(MemoryValue[] params, Token token) {
+        return call(params, token, null);
+    }
+
+    public MemoryValue call(MemoryValue[] params, Token token, String directory) {
         Object[] javaParams = new Object[params.length];
 
         for(int i = 0; i < params.length; i++) {
-            javaParams[i] = parseParam(params[i], paramTypes[i]);
+            javaParams[i] = parseParam(params[i], paramTypes[i], token);
+        }
+        Events.NativeCall event = Events.nativeCalls() ? new Events.NativeCall() : null;
+
+        if(event != null) {
+            event.begin();
         }
+
         try {
-            Object ret = method.invoke(module.getDeclaredConstructor().newInstance(), javaParams);
+            Object ret = method.invoke(instance(directory), javaParams);
+
+            return parseReturn(ret);
+
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+
+            if(cause instanceof skorupinski.montana.utils.Error) {
+                throw (skorupinski.montana.utils.Error) cause;
+            }
+
+            new ValueError(token, method.getName() + ": " + describe(cause)).cast();
 
+        } catch (ReflectiveOperationException e) {
+            new ValueError(token, method.getName() + ": " + describe(e)).cast();
 
-        } catch (Exception e) {
-            e.printStackTrace();
+        } finally {
+            if(event != null) {
+                event.end();
+
+                if(event.shouldCommit()) {
+                    event.module = module.getSimpleName();
+                    event.method = method.getName();
+                    event.commit();
+                }
+            }
         }
 
         return null;
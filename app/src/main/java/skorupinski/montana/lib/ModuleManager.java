@@ -1,6 +1,10 @@
 package skorupinski.montana.lib;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
 
 import skorupinski.montana.interpreter.Memory;
 import skorupinski.montana.interpreter.MemoryValue.Function;
@@ -14,32 +18,52 @@ import skorupinski.montana.parser.AST.VariableDeclaration;
 public class ModuleManager {
 
     private static final String PATH = "skorupinski.montana.lib.modules";
+
+    private static final ConcurrentHashMap<String, List<FunctionInit>> modules = new ConcurrentHashMap<>();
     
     public ModuleManager() {}
 
-    public void importModule(String name, Memory memory, String as) {
-        try {
-            Class<?> module = Class.forName(PATH + "." + name);
+    private static List<FunctionInit> resolve(String name) throws ClassNotFoundException {
+        List<FunctionInit> functions = modules.get(name);
 
-            Memory objectMemory = new Memory(memory.memoryLevel + 1, memory);
+        if(functions != null) {
+            return functions;
+        }
+
+        Class<?> module = Class.forName(PATH + "." + name);
+        functions = new ArrayList<>();
+
+        for(Method method : module.getDeclaredMethods()) {
+            if(!Modifier.isPublic(method.getModifiers())) {
+                continue;
+            }
 
-            for(Method method : module.getDeclaredMethods()) {
-                String functionName = method.getName();
+            String functionName = method.getName();
 
-                VariableDeclaration decl = new VariableDeclaration();
-                for(int i = 0; i < method.getParameterCount(); i++) {
-                    String paramName = "a";
-                    for(int j = 0; j < i; i++) {
-                        paramName += "a";
-                    }
-                    decl.variables.add(new Variable(new Token(TokenType.IDENTIFIER, paramName)));
+            VariableDeclaration decl = new VariableDeclaration();
+            for(int i = 0; i < method.getParameterCount(); i++) {
+                String paramName = "a";
+                for(int j = 0; j < i; j++) {
+                    paramName += "a";
                 }
+                decl.variables.add(new Variable(new Token(TokenType.IDENTIFIER, paramName)));
+            }
+
+            ExternalMethod ext = new ExternalMethod(module, method, method.getParameterTypes());
+
+            functions.add(new FunctionInit(functionName, decl, ext));
+        }
 
-                ExternalMethod ext = new ExternalMethod(module, method, method.getParameterTypes());
+        List<FunctionInit> resolved = modules.putIfAbsent(name, functions);
+        return resolved != null ? resolved : functions;
+    }
 
-                FunctionInit init = new FunctionInit(functionName, decl, ext);
+    public void importModule(String name, Memory memory, String as) {
+        try {
+            Memory objectMemory = new Memory(memory.memoryLevel + 1, memory);
 
-                objectMemory.put(functionName, new Function(init));
+            for(FunctionInit init : resolve(name)) {
+                objectMemory.put(init.functionName, new Function(init));
             }
             memory.put(as, new LangObject(objectMemory));
             
@@ -0,0 +1,164 @@
+package skorupinski.montana.lib.modules;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import skorupinski.montana.interpreter.MemoryValue;
+import skorupinski.montana.interpreter.MemoryValue.*;
+
+public class FileIO {
+
+    private static final int LINE_BUFFER = 256;
+
+    private static final long OFFER_MILLIS = 100;
+
+    private static final int DELIVERED = 0;
+
+    private static final int WAITING = 1;
+
+    private static final int ABANDONED = 2;
+
+    private final Path directory;
+
+    public FileIO() {
+        this(Path.of("").toAbsolutePath());
+    }
+
+    public FileIO(Path directory) {
+        this.directory = directory;
+    }
+
+    private Path resolve(String path) {
+        return directory.resolve(path);
+    }
+
+    public String read(String path) throws IOException {
+        try(FileChannel channel = FileChannel.open(resolve(path), StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if(size == 0) {
+                return "";
+            } else if(size > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to read at once: " + path);
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+    }
+
+    public Channel lines(String path) throws IOException {
+        BufferedReader reader = Files.newBufferedReader(resolve(path), StandardCharsets.UTF_8);
+        Channel channel = new Channel(LINE_BUFFER);
+
+        WeakReference<Channel> target = new WeakReference<>(channel);
+
+        Thread.ofVirtual().name("montana-lines").start(() -> pump(reader, target, path));
+
+        return channel;
+    }
+
+    private static int offer(WeakReference<Channel> target, MemoryValue value) throws InterruptedException {
+        Channel channel = target.get();
+
+        if(channel == null || channel.isClosed()) {
+            return ABANDONED;
+        }
+
+        return channel.offer(value, OFFER_MILLIS, TimeUnit.MILLISECONDS) ? DELIVERED : WAITING;
+    }
+
+    private static void finish(WeakReference<Channel> target, String failure) {
+        Channel channel = target.get();
+
+        if(channel == null) {
+            return;
+        }
+
+        if(failure != null) {
+            channel.fail(failure);
+        } else {
+            channel.close();
+        }
+    }
+
+    private static void pump(BufferedReader reader, WeakReference<Channel> target, String path) {
+        String failure = null;
+
+        try(reader) {
+            String line = reader.readLine();
+
+            while(line != null) {
+                MemoryValue value = new Singular(line, Type.STRING);
+                int state = offer(target, value);
+
+                while(state == WAITING) {
+                    state = offer(target, value);
+                }
+
+                if(state == ABANDONED) {
+                    return;
+                }
+
+                line = reader.readLine();
+            }
+        } catch (IOException e) {
+            failure = "lines: " + path + ": " + e.getMessage();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            finish(target, failure);
+        }
+    }
+
+    private void write(String path, String text, StandardOpenOption mode) throws IOException {
+        try(BufferedWriter writer = Files.newBufferedWriter(resolve(path), StandardCharsets.UTF_8,
+                                                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, mode)) {
+            writer.write(text);
+        }
+    }
+
+    public void write(String path, String text) throws IOException {
+        write(path, text, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    public void append(String path, String text) throws IOException {
+        write(path, text, StandardOpenOption.APPEND);
+    }
+
+    public void writeLines(String path, Array lines) throws IOException {
+        try(BufferedWriter writer = Files.newBufferedWriter(resolve(path), StandardCharsets.UTF_8)) {
+            StringBuilder line = new StringBuilder();
+
+            for(int i = 0; i < lines.size(); i++) {
+                MemoryValue value = lines.get(i);
+                line.setLength(0);
+
+                if(value instanceof Singular) {
+                    ((Singular) value).appendTo(line);
+                } else {
+                    line.append(value.toString());
+                }
+
+                writer.append(line).append('\n');
+            }
+        }
+    }
+
+    public boolean exists(String path) {
+        return Files.exists(resolve(path));
+    }
+
+    public long size(String path) throws IOException {
+        return Files.size(resolve(path));
+    }
+}
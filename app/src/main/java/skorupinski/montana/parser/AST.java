@@ -1,10 +1,15 @@
 package skorupinski.montana.parser;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import skorupinski.montana.lexer.Token;
 import skorupinski.montana.lib.ExternalMethod;
+import skorupinski.montana.utils.Allocations;
 
 public abstract class AST {
 
@@ -14,21 +19,29 @@ public abstract class AST {
         this.token = token;
     }
 
-    protected abstract String tree(int level);
+    protected void forEachChild(Consumer<AST> action) {}
 
-    protected String branch(int level) {
-        String branch = "";
-        for(int i = 0; i < level; i++) {
-            branch += "-";
-        }  
+    public void walk(Consumer<AST> action) {
+        action.accept(this);
 
-        branch += getClass().getSimpleName() + "\n";
-        return branch;
+        forEachChild(child -> {
+            if(child != null) {
+                child.walk(action);
+            }
+        });
     }
-    
+
     @Override
     public String toString() {
-        return tree(0) + '\n';
+        StringWriter tree = new StringWriter();
+
+        try {
+            SyntaxDump.tree(this, tree);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return tree.toString();
     }
 
     public static class Value extends AST {
@@ -40,11 +53,6 @@ public abstract class AST {
             this.value = value;
         }
 
-        @Override
-        protected String tree(int level) {
-            return branch(level);
-        }
-
     }
 
     public static class BinaryOperator extends AST {
@@ -63,8 +71,9 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + left.tree(level + 1) + right.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(left);
+            action.accept(right);
         }
 
     }
@@ -82,8 +91,8 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + expr.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(expr);
         }
     }
 
@@ -95,17 +104,13 @@ public abstract class AST {
 
         public Compound(boolean insideFunction, List<AST> children) {
             super(null);
-            this.insideFunction = true;
+            this.insideFunction = insideFunction;
             this.children = children;
         }
 
         @Override
-        protected String tree(int level) {
-            String tree = branch(level);
-            for(AST ast : children) {
-                tree += ast.tree(level + 1);
-            }
-            return tree;
+        protected void forEachChild(Consumer<AST> action) {
+            children.forEach(action);
         }
     }
 
@@ -118,14 +123,9 @@ public abstract class AST {
             this.variable = variable;
         }
 
-        @Override
-        protected String tree(int level) {
-            return branch(level);
-        }
-
     }
 
-    public static class Assign extends AST {
+    public static final class Assign extends AST {
 
         public final AST left;
 
@@ -138,11 +138,14 @@ public abstract class AST {
             this.left = left;
             this.op = op;
             this.right = right;
+
+            Allocations.allocated(this);
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + left.tree(level + 1) + right.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(left);
+            action.accept(right);
         }
     }
 
@@ -165,16 +168,9 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            String tree = branch(level);
-            for(AST ast : variables) {
-                tree += ast.tree(level + 1);
-            }
-
-            for(AST ast : assignments) {
-                tree += ast.tree(level + 1);
-            }
-            return tree;
+        protected void forEachChild(Consumer<AST> action) {
+            variables.forEach(action);
+            assignments.forEach(action);
         }
     }
 
@@ -184,10 +180,6 @@ public abstract class AST {
             super(null);
         }
 
-        @Override
-        protected String tree(int level) {
-            return branch(level);
-        }
     }
 
     public static class Compare extends AST {
@@ -202,13 +194,9 @@ public abstract class AST {
             this.operators = operators;
         }
 
-        protected String tree(int level) {
-            String tree = branch(level);
-            for(AST ast : comparables) {
-                tree += ast.tree(level + 1);
-            }
-
-            return tree;
+        @Override
+        protected void forEachChild(Consumer<AST> action) {
+            comparables.forEach(action);
         }
     }
 
@@ -225,8 +213,8 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + statement.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(statement);
         }
         
     }
@@ -247,8 +235,9 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + left.tree(level + 1) + right.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(left);
+            action.accept(right);
         }
 
     }
@@ -270,15 +259,10 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            String tree = branch(level);
-            tree += condition.tree(level + 1);
-            tree += statement.tree(level + 1);
-            for(AST ast : elses) {
-                tree += ast.tree(level + 1);
-            }
-
-            return tree;
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(condition);
+            action.accept(statement);
+            elses.forEach(action);
         }
     }
 
@@ -292,8 +276,8 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + printable.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(printable);
         }
     }
 
@@ -307,17 +291,34 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            String tree = branch(level);
-            for(AST ast : elements) {
-                tree += ast.tree(level + 1);
-            }
-
-            return tree;
+        protected void forEachChild(Consumer<AST> action) {
+            elements.forEach(action);
         }
         
     }
 
+    public static class DictionaryInit extends AST {
+
+        public final List<AST> keys;
+
+        public final List<AST> values;
+
+        protected DictionaryInit(List<AST> keys, List<AST> values) {
+            super(null);
+            this.keys = keys;
+            this.values = values;
+        }
+
+        @Override
+        protected void forEachChild(Consumer<AST> action) {
+            for(int i = 0; i < keys.size(); i++) {
+                action.accept(keys.get(i));
+                action.accept(values.get(i));
+            }
+        }
+
+    }
+
     public static class ArrayAccess extends AST {
 
         public final AST array;
@@ -331,8 +332,9 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + array.tree(level + 1) + index.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(array);
+            action.accept(index);
         }
     }
 
@@ -346,12 +348,19 @@ public abstract class AST {
 
         public final ExternalMethod method;
 
-        public FunctionInit(String functionName, VariableDeclaration params, Compound block) {
+        public final boolean generator;
+
+        public FunctionInit(String functionName, VariableDeclaration params, Compound block, boolean generator) {
             super(null);
             this.functionName = functionName;
             this.params = params;
             this.block = block;
             this.method = null;
+            this.generator = generator;
+        }
+
+        public FunctionInit(String functionName, VariableDeclaration params, Compound block) {
+            this(functionName, params, block, false);
         }
 
         public FunctionInit(String functionName, VariableDeclaration params, ExternalMethod method) {
@@ -360,11 +369,16 @@ public abstract class AST {
             this.params = params;
             this.block = null;
             this.method = method;
+            this.generator = false;
         }
         
         @Override
-        protected String tree(int level) {
-            return branch(level) + params.tree(level + 1) + (block == null ? "Outer method" : block.tree(level + 1));
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(params);
+
+            if(block != null) {
+                action.accept(block);
+            }
         }
     }
 
@@ -381,14 +395,108 @@ public abstract class AST {
         }
         
         @Override
-        protected String tree(int level) {
-            String tree = branch(level) + function.tree(level + 1);
-            for(AST ast : params) {
-                tree += ast.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(function);
+            params.forEach(action);
+        }
+    }
+
+    public static class Spawn extends AST {
+
+        public final AST call;
+
+        protected Spawn(Token token, AST call) {
+            super(token);
+            this.call = call;
+        }
+
+        @Override
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(call);
+        }
+
+    }
+
+    public static class Await extends AST {
+
+        public final AST future;
+
+        protected Await(Token token, AST future) {
+            super(token);
+            this.future = future;
+        }
+
+        @Override
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(future);
+        }
+
+    }
+
+    public static class ChannelInit extends AST {
+
+        public final AST capacity;
+
+        protected ChannelInit(Token token, AST capacity) {
+            super(token);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected void forEachChild(Consumer<AST> action) {
+            if(capacity != null) {
+                action.accept(capacity);
             }
+        }
+
+    }
+
+    public static class RangeInit extends AST {
+
+        public final List<AST> bounds;
+
+        protected RangeInit(Token token, List<AST> bounds) {
+            super(token);
+            this.bounds = bounds;
+        }
+
+        @Override
+        protected void forEachChild(Consumer<AST> action) {
+            bounds.forEach(action);
+        }
+
+    }
+
+    public static class Select extends AST {
+
+        public final List<AST> channels;
+
+        protected Select(Token token, List<AST> channels) {
+            super(token);
+            this.channels = channels;
+        }
+
+        @Override
+        protected void forEachChild(Consumer<AST> action) {
+            channels.forEach(action);
+        }
+
+    }
+
+    public static class Yield extends AST {
+
+        public final AST value;
+
+        protected Yield(Token token, AST value) {
+            super(token);
+            this.value = value;
+        }
 
-            return tree;
+        @Override
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(value);
         }
+
     }
 
     public static class Return extends AST {
@@ -401,8 +509,8 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + returnable.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(returnable);
         }
         
     }
@@ -420,8 +528,9 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + condition.tree(level + 1) + statement.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(condition);
+            action.accept(statement);
         }
 
     }
@@ -445,12 +554,62 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + init.tree(level + 1) + condition.tree(level + 1) + assign.tree(level + 1) + statement.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(init);
+            action.accept(condition);
+            action.accept(assign);
+            action.accept(statement);
         }
         
     }
 
+    public static class ForEachLoop extends AST {
+
+        public final Variable variable;
+
+        public final AST iterable;
+
+        public final Compound statement;
+
+        protected ForEachLoop(Token token, Variable variable, AST iterable, Compound statement) {
+            super(token);
+            this.variable = variable;
+            this.iterable = iterable;
+            this.statement = statement;
+        }
+
+        @Override
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(variable);
+            action.accept(iterable);
+            action.accept(statement);
+        }
+
+    }
+
+    public static class ParallelForLoop extends AST {
+
+        public final ForLoop loop;
+
+        public final List<Variable> reductions;
+
+        public final List<Token> operators;
+
+        protected ParallelForLoop(Token token, ForLoop loop, List<Variable> reductions, List<Token> operators) {
+            super(token);
+            this.loop = loop;
+            this.reductions = reductions;
+            this.operators = operators;
+        }
+
+        @Override
+        protected void forEachChild(Consumer<AST> action) {
+            reductions.forEach(action);
+            action.accept(loop);
+        }
+
+    }
+
     public static class ClassInit extends AST {
 
         public final String name;
@@ -464,8 +623,8 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + block.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(block);
         }
 
     }
@@ -483,8 +642,8 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + value.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(value);
         }
     }
 
@@ -500,10 +659,6 @@ public abstract class AST {
             this.name = name;
         }
 
-        @Override
-        protected String tree(int level) {
-            return branch(level);
-        }
     }
 
     public static class ObjectDive extends AST {
@@ -519,8 +674,9 @@ public abstract class AST {
         }
 
         @Override
-        protected String tree(int level) {
-            return branch(level) + parent.tree(level + 1) + child.tree(level + 1);
+        protected void forEachChild(Consumer<AST> action) {
+            action.accept(parent);
+            action.accept(child);
         }
     }
 }
@@ -18,6 +18,8 @@ public class Parser {
 
     private boolean insideFunction;
 
+    private boolean generator;
+
     public Parser(Lexer lexer) {
         this.lexer = lexer;
 
@@ -152,6 +154,12 @@ public class Parser {
                 return new UnaryOperator(token, factor());
             }
     
+            case INT:
+            {
+                eat(TokenType.INT);
+                return new Value(token);
+            }
+
             case FLOAT:
             {
                 eat(TokenType.FLOAT);
@@ -180,6 +188,31 @@ public class Parser {
                 eat(TokenType.NONE);
                 return new Value(token);
             }
+            case SPAWN:
+            {
+                return spawn();
+            }
+            case AWAIT:
+            {
+                eat(TokenType.AWAIT);
+                return new Await(token, factor());
+            }
+            case CHANNEL:
+            {
+                return channel();
+            }
+            case SELECT:
+            {
+                return select();
+            }
+            case RANGE:
+            {
+                AST node = range();
+                if(currentToken.typeOf(TokenType.COLON)) {
+                    node = objectDive(node);
+                }
+                return node;
+            }
             case L_PAREN:
             {
                 eat(TokenType.L_PAREN);
@@ -195,6 +228,14 @@ public class Parser {
                 }
                 return node;
             }
+            case L_CURLY:
+            {
+                AST node = dictionaryInit();
+                if(currentToken.typeOf(TokenType.L_SQUARED)) {
+                    node = arrayAccess(node);
+                }
+                return node;
+            }
             
             default:
                 return identifierOperations();
@@ -222,7 +263,7 @@ public class Parser {
     private Assign incrementDecrement(Variable variable, Token token) {
         eat(token.type);
 
-        Value right = new Value(new Token(TokenType.FLOAT, "1"));
+        Value right = new Value(new Token(TokenType.INT, "1"));
 
         if(token.typeOf(TokenType.INCREMENT)) {
             BinaryOperator op = new BinaryOperator(variable, new Token(TokenType.PLUS, "+"), right);
@@ -284,11 +325,27 @@ public class Parser {
             case FOR:
                 node = forLoopStatement();
                 break;
+
+            case YIELD:
+                node = yieldStatement();
+                eat(TokenType.SEMICOLON);
+                break;
+
+            case PARALLEL:
+                node = parallelForLoopStatement();
+                break;
     
             case PRINT:
                 node = printStatement();
                 eat(TokenType.SEMICOLON);
                 break;
+
+            case SPAWN:
+            case AWAIT:
+            case SELECT:
+                node = expr();
+                eat(TokenType.SEMICOLON);
+                break;
     
             case FUNCTION:
                 node = functionInitStatement();
@@ -345,8 +402,10 @@ public class Parser {
     }
     
     private VariableDeclaration variableDeclaration() {
-        VariableDeclaration variableDeclaration = standardVariableDeclaration();
-    
+        return variableAssignments(standardVariableDeclaration());
+    }
+
+    private VariableDeclaration variableAssignments(VariableDeclaration variableDeclaration) {
         if(currentToken.typeOf(TokenType.ASSIGN)) {
             eat(TokenType.ASSIGN);
     
@@ -394,7 +453,7 @@ public class Parser {
     
     private AST identifierStatement() {
         AST identifier = identifierOperations();
-        if(identifier instanceof Variable) {
+        if(identifier instanceof Variable || identifier instanceof ArrayAccess) {
             Token token = currentToken;
 
             eat(TokenType.ASSIGN);
@@ -447,17 +506,36 @@ public class Parser {
         return new WhileLoop(condition, statement);
     };
 
-    private ForLoop forLoopStatement() {
+    private ForEachLoop forEachLoop(Token token, VariableDeclaration decl) {
+        eat(TokenType.IN);
+
+        if(decl.variables.size() != 1) {
+            new SyntaxError(token, "For loop over an iterable must declare exactly one variable.").cast();
+        }
+
+        AST iterable = expr();
+        eat(TokenType.R_PAREN);
+
+        Compound statement = compoundStatement();
+
+        return new ForEachLoop(token, decl.variables.get(0), iterable, statement);
+    }
+
+    private AST forLoopStatement() {
+        Token forToken = currentToken;
         eat(TokenType.FOR);
         eat(TokenType.L_PAREN);
 
         AST init = null;
 
-        System.out.println(currentToken);
-
         if(currentToken.typeOf(TokenType.VARIABLE_DECL)) {
             eat(TokenType.VARIABLE_DECL);
-            init = variableDeclaration();
+            VariableDeclaration decl = standardVariableDeclaration();
+
+            if(currentToken.typeOf(TokenType.IN)) {
+                return forEachLoop(forToken, decl);
+            }
+            init = variableAssignments(decl);
 
         } else {
             init = assignStatement();
@@ -488,6 +566,62 @@ public class Parser {
         return new ForLoop(init, condition, assign, statement);
     }
     
+    private Token reductionOperator() {
+        Token op = currentToken;
+
+        if(op.typeOf(TokenType.PLUS) ||
+           op.typeOf(TokenType.MULT) ||
+           op.typeOf(TokenType.AND) ||
+           op.typeOf(TokenType.OR) ||
+           (op.typeOf(TokenType.IDENTIFIER) && (op.value.equals("min") || op.value.equals("max")))
+        ) {
+            eat(op.type);
+            return op;
+        }
+
+        new SyntaxError(op, "Unsupported reduction operator: " + op.value).cast();
+        return null;
+    }
+
+    private ParallelForLoop parallelForLoopStatement() {
+        Token token = currentToken;
+        eat(TokenType.PARALLEL);
+
+        List<Variable> reductions = new ArrayList<>();
+        List<Token> operators = new ArrayList<>();
+
+        if(currentToken.typeOf(TokenType.L_PAREN)) {
+            eat(TokenType.L_PAREN);
+
+            reductions.add(variable());
+            eat(TokenType.COLON);
+            operators.add(reductionOperator());
+
+            while(currentToken.typeOf(TokenType.COMMA)) {
+                eat(TokenType.COMMA);
+
+                reductions.add(variable());
+                eat(TokenType.COLON);
+                operators.add(reductionOperator());
+            }
+            eat(TokenType.R_PAREN);
+        }
+
+        AST node = forLoopStatement();
+
+        if(!(node instanceof ForLoop)) {
+            new SyntaxError(token, "Parallel loop must be a counting for loop.").cast();
+        }
+
+        ForLoop loop = (ForLoop) node;
+
+        if(!(loop.init instanceof VariableDeclaration) || ((VariableDeclaration) loop.init).assignments.size() != 1) {
+            new SyntaxError(token, "Parallel loop must declare exactly one loop variable.").cast();
+        }
+
+        return new ParallelForLoop(token, loop, reductions, operators);
+    }
+    
     private Print printStatement() {
         eat(TokenType.PRINT);
         AST printable = expr();
@@ -510,6 +644,8 @@ public class Parser {
         eat(TokenType.R_PAREN);
     
         Compound block;
+        boolean enclosingGenerator = generator;
+        generator = false;
     
         if(insideFunction) {
             block = compoundStatement();
@@ -518,8 +654,11 @@ public class Parser {
             block = compoundStatement();
             insideFunction = false;
         }
+
+        boolean isGenerator = generator;
+        generator = enclosingGenerator;
     
-        return new FunctionInit(funcName, params, block);
+        return new FunctionInit(funcName, params, block, isGenerator);
     }
     
     private FunctionCall functionCall(AST function) {
@@ -538,6 +677,82 @@ public class Parser {
         return functionCall;
     }
     
+    private Spawn spawn() {
+        Token token = currentToken;
+        eat(TokenType.SPAWN);
+
+        AST call = identifierOperations();
+
+        AST target = call;
+        while(target instanceof ObjectDive) {
+            target = ((ObjectDive) target).child;
+        }
+
+        if(!(target instanceof FunctionCall)) {
+            new SyntaxError(token, "Only function calls can be spawned.").cast();
+        }
+
+        return new Spawn(token, call);
+    }
+
+    private ChannelInit channel() {
+        Token token = currentToken;
+        eat(TokenType.CHANNEL);
+        eat(TokenType.L_PAREN);
+
+        AST capacity = null;
+
+        if(!currentToken.typeOf(TokenType.R_PAREN)) {
+            capacity = expr();
+        }
+        eat(TokenType.R_PAREN);
+
+        return new ChannelInit(token, capacity);
+    }
+
+    private RangeInit range() {
+        Token token = currentToken;
+        eat(TokenType.RANGE);
+        eat(TokenType.L_PAREN);
+
+        List<AST> bounds = collection(TokenType.R_PAREN);
+
+        if(bounds.isEmpty() || bounds.size() > 3) {
+            new SyntaxError(token, "Range takes 1 to 3 arguments, but " + bounds.size() + " were given.").cast();
+        }
+
+        return new RangeInit(token, bounds);
+    }
+
+    private Select select() {
+        Token token = currentToken;
+        eat(TokenType.SELECT);
+        eat(TokenType.L_PAREN);
+
+        List<AST> channels = new ArrayList<>();
+        channels.add(expr());
+
+        while(currentToken.typeOf(TokenType.COMMA)) {
+            eat(TokenType.COMMA);
+            channels.add(expr());
+        }
+        eat(TokenType.R_PAREN);
+
+        return new Select(token, channels);
+    }
+
+    private Yield yieldStatement() {
+        Token token = currentToken;
+        eat(TokenType.YIELD);
+
+        if(!insideFunction) {
+            new SyntaxError(token, "Yield statement without function declaration.").cast();
+        }
+        generator = true;
+
+        return new Yield(token, expr());
+    }
+
     private Return returnStatement() {
         Token token = currentToken;
         eat(TokenType.RETURN);
@@ -589,6 +804,54 @@ public class Parser {
         return new ArrayInit(elements);
     }
 
+    private AST dictionaryKey() {
+        Token token = currentToken;
+
+        switch(token.type) {
+            case INT:
+            case FLOAT:
+            case STRING:
+            case BOOLEAN:
+            case NONE:
+            {
+                eat(token.type);
+                return new Value(token);
+            }
+            case L_PAREN:
+            {
+                eat(TokenType.L_PAREN);
+                AST node = expr();
+                eat(TokenType.R_PAREN);
+                return node;
+            }
+            default:
+                return variable();
+        }
+    }
+
+    private DictionaryInit dictionaryInit() {
+        eat(TokenType.L_CURLY);
+
+        List<AST> keys = new ArrayList<>();
+        List<AST> values = new ArrayList<>();
+
+        if(!currentToken.typeOf(TokenType.R_CURLY)) {
+            keys.add(dictionaryKey());
+            eat(TokenType.COLON);
+            values.add(expr());
+
+            while(currentToken.typeOf(TokenType.COMMA)) {
+                eat(TokenType.COMMA);
+
+                keys.add(dictionaryKey());
+                eat(TokenType.COLON);
+                values.add(expr());
+            }
+        }
+        eat(TokenType.R_CURLY);
+
+        return new DictionaryInit(keys, values);
+    }
 
     private List<AST> collection(TokenType ending) {
         List<AST> collection = new ArrayList<>();
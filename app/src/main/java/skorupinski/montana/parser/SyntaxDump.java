@@ -0,0 +1,154 @@
+package skorupinski.montana.parser;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import skorupinski.montana.lexer.Lexer;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.lexer.TokenType;
+import skorupinski.montana.utils.Json;
+
+public class SyntaxDump {
+
+    private SyntaxDump() {}
+
+    private static void location(Writer out, Token token) throws IOException {
+        if(token == null) {
+            return;
+        }
+
+        out.write(' ');
+        out.write(token.type.name());
+
+        if(!token.value.isEmpty()) {
+            out.write(' ');
+            out.write(token.value);
+        }
+
+        if(token.line > 0) {
+            out.write(" (");
+            out.write(Integer.toString(token.line));
+            out.write(':');
+            out.write(Integer.toString(token.column));
+            out.write(')');
+        }
+    }
+
+    private static void tree(AST node, Writer out, int level) throws IOException {
+        for(int i = 0; i < level; i++) {
+            out.write('-');
+        }
+
+        out.write(node.getClass().getSimpleName());
+        location(out, node.token);
+        out.write('\n');
+
+        node.forEachChild(child -> {
+            if(child == null) {
+                return;
+            }
+
+            try {
+                tree(child, out, level + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    public static void tree(AST node, Writer out) throws IOException {
+        try {
+            tree(node, out, 0);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void token(Token token, Writer out) throws IOException {
+        out.write("{\"type\": ");
+        Json.string(out, token.type.name());
+        out.write(", \"value\": ");
+        Json.string(out, token.value);
+        out.write(", \"line\": ");
+        out.write(Integer.toString(token.line));
+        out.write(", \"column\": ");
+        out.write(Integer.toString(token.column));
+        out.write('}');
+    }
+
+    private static void json(AST node, Writer out) throws IOException {
+        out.write("{\"node\": ");
+        Json.string(out, node.getClass().getSimpleName());
+
+        if(node.token != null) {
+            out.write(", \"token\": ");
+            token(node.token, out);
+        }
+
+        out.write(", \"children\": [");
+
+        boolean[] first = { true };
+
+        node.forEachChild(child -> {
+            if(child == null) {
+                return;
+            }
+
+            try {
+                if(!first[0]) {
+                    out.write(", ");
+                }
+                first[0] = false;
+
+                json(child, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        out.write("]}");
+    }
+
+    public static void treeJson(AST node, Writer out) throws IOException {
+        try {
+            json(node, out);
+            out.write('\n');
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    public static void tokens(Lexer lexer, Writer out) throws IOException {
+        Token token;
+
+        do {
+            token = lexer.nextToken();
+
+            out.write(Integer.toString(token.line));
+            out.write(':');
+            out.write(Integer.toString(token.column));
+            out.write('\t');
+            out.write(token.toString());
+            out.write('\n');
+        } while(!token.typeOf(TokenType.END_OF_FILE));
+    }
+
+    public static void tokensJson(Lexer lexer, Writer out) throws IOException {
+        Token token;
+        out.write('[');
+
+        do {
+            token = lexer.nextToken();
+
+            out.write("\n  ");
+            token(token, out);
+
+            if(!token.typeOf(TokenType.END_OF_FILE)) {
+                out.write(',');
+            }
+        } while(!token.typeOf(TokenType.END_OF_FILE));
+
+        out.write("\n]\n");
+    }
+}
@@ -0,0 +1,189 @@
+package skorupinski.montana.repl;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import skorupinski.montana.Montana;
+import skorupinski.montana.interpreter.Interpreter;
+import skorupinski.montana.interpreter.Memory;
+import skorupinski.montana.interpreter.Output;
+import skorupinski.montana.interpreter.Program;
+import skorupinski.montana.interpreter.ScriptCompiler;
+import skorupinski.montana.interpreter.SymbolTable;
+import skorupinski.montana.lexer.Lexer;
+import skorupinski.montana.lexer.Token;
+import skorupinski.montana.lexer.TokenType;
+import skorupinski.montana.utils.Error;
+
+public class Repl {
+
+    public static final String NAME = "<repl>";
+
+    private static final String PROMPT = "> ";
+
+    private static final String CONTINUATION = ". ";
+
+    private final ScriptCompiler compiler;
+
+    private final Interpreter interpreter;
+
+    private final SymbolTable symbols;
+
+    private final Memory memory;
+
+    private final String directory;
+
+    private int line;
+
+    public Repl(ScriptCompiler compiler, Output output, String directory) {
+        this.compiler = compiler;
+        this.interpreter = new Interpreter(compiler, output);
+        this.symbols = new SymbolTable(1, null);
+        this.memory = new Memory(1, new Memory(0, null));
+        this.directory = directory;
+        this.line = 1;
+    }
+
+    public Interpreter interpreter() {
+        return interpreter;
+    }
+
+    public SymbolTable symbols() {
+        return symbols;
+    }
+
+    public Memory memory() {
+        return memory;
+    }
+
+    public void evaluate(String source) {
+        int first = line;
+        line += source.split("\n", -1).length - 1;
+
+        Program program = compiler.compile(NAME, source, first, directory, symbols, null);
+        interpreter.execute(program, memory);
+    }
+
+    private static int depth(String source) {
+        Lexer lexer = new Lexer(NAME, source, 1);
+        int depth = 0;
+
+        try {
+            Token token = lexer.nextToken();
+
+            while(token.type != TokenType.END_OF_FILE) {
+                switch(token.type) {
+                    case L_CURLY:
+                    case L_PAREN:
+                    case L_SQUARED:
+                        depth++;
+                        break;
+                    case R_CURLY:
+                    case R_PAREN:
+                    case R_SQUARED:
+                        depth--;
+                        break;
+                    default:
+                        break;
+                }
+
+                token = lexer.nextToken();
+            }
+        } catch (Error e) {
+            return 0;
+        }
+
+        return depth;
+    }
+
+    private boolean command(String input, PrintStream console) {
+        switch(input.trim()) {
+            case ":memory":
+                console.println(memory);
+                return true;
+            case ":symbols":
+                console.println(symbols);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public void run(BufferedReader in, PrintStream console) throws IOException {
+        StringBuilder chunk = new StringBuilder();
+
+        while(true) {
+            console.print(chunk.length() == 0 ? PROMPT : CONTINUATION);
+            console.flush();
+
+            String input = in.readLine();
+
+            if(input == null || chunk.length() == 0 && input.trim().equals(":quit")) {
+                break;
+            }
+
+            if(chunk.length() == 0 && command(input, console)) {
+                continue;
+            }
+
+            chunk.append(input).append('\n');
+
+            if(depth(chunk.toString()) > 0) {
+                continue;
+            }
+
+            try {
+                evaluate(chunk.toString());
+            } catch (Error e) {
+                console.println(e.getMessage());
+            } catch (RuntimeException e) {
+                console.println(new Error.RuntimeError(NAME, 0, 0, e).getMessage());
+            }
+
+            chunk.setLength(0);
+        }
+
+        console.println();
+    }
+
+    public static int main(String[] args) throws IOException {
+        Path directory = Path.of("").toAbsolutePath();
+        String outPath = null;
+        boolean lineBuffered = false;
+
+        for(int arg = 0; arg < args.length; arg++) {
+            switch(args[arg]) {
+                case "--out":
+                    if(arg + 1 == args.length) {
+                        System.err.println(Montana.USAGE);
+                        return 2;
+                    }
+
+                    outPath = directory.resolve(args[++arg]).toString();
+                    break;
+                case "--line-buffered":
+                    lineBuffered = true;
+                    break;
+                default:
+                    System.err.println("Unknown option " + args[arg]);
+                    System.err.println(Montana.USAGE);
+                    return 2;
+            }
+        }
+
+        Output output = outPath != null ? Output.file(outPath, lineBuffered) : Output.stdout(true);
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+
+        try {
+            new Repl(new ScriptCompiler(), output, directory.toString()).run(in, System.out);
+        } finally {
+            output.close();
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,41 @@
+package skorupinski.montana.utils;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class Allocations {
+
+    private static final ThreadLocal<Consumer<Object>> listener = new ThreadLocal<>();
+
+    private static final AtomicInteger listening = new AtomicInteger();
+
+    private Allocations() {}
+
+    public static void listen(Consumer<Object> listener) {
+        Consumer<Object> previous = Allocations.listener.get();
+
+        if(listener == null) {
+            Allocations.listener.remove();
+        } else {
+            Allocations.listener.set(listener);
+        }
+
+        if(previous == null && listener != null) {
+            listening.incrementAndGet();
+        } else if(previous != null && listener == null) {
+            listening.decrementAndGet();
+        }
+    }
+
+    public static void allocated(Object object) {
+        if(listening.get() == 0) {
+            return;
+        }
+
+        Consumer<Object> current = listener.get();
+
+        if(current != null) {
+            current.accept(object);
+        }
+    }
+}
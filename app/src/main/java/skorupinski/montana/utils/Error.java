@@ -2,7 +2,9 @@ package skorupinski.montana.utils;
 
 import skorupinski.montana.lexer.Token;
 
-public class Error {
+public class Error extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
 
     private String type;
 
@@ -22,8 +24,15 @@ public class Error {
         this.message = message;
     }
 
+    @Override
+    public String getMessage() {
+        return type + ": In file: " + file + ", line: " + line + " column: " + column + " " + message;
+    }
+
     public static class SyntaxError extends Error {
 
+        private static final long serialVersionUID = 1L;
+
         public SyntaxError(String file, int line, int column, String message) {
             super("SyntaxError", file, line, column, message);
         }
@@ -35,6 +44,8 @@ public class Error {
 
     public static class ValueError extends Error {
 
+        private static final long serialVersionUID = 1L;
+
         public ValueError(String file, int line, int column, String message) {
             super("ValueError", file, line, column, message);
         }
@@ -45,6 +56,8 @@ public class Error {
     }
     public static class NameError extends Error {
 
+        private static final long serialVersionUID = 1L;
+
         public NameError(String file, int line, int column, String message) {
             super("NameError", file, line, column, message);
         }
@@ -54,8 +67,26 @@ public class Error {
         }
     }
 
+    public static final class RuntimeError extends Error {
+
+        private static final long serialVersionUID = 1L;
+
+        public RuntimeError(String file, int line, int column, Throwable cause) {
+            super("RuntimeError", file, line, column, describe(cause));
+            initCause(cause);
+        }
+
+        public RuntimeError(Token token, Throwable cause) {
+            this(token.file, token.line, token.column, cause);
+        }
+
+        private static String describe(Throwable cause) {
+            String name = cause.getClass().getSimpleName();
+            return cause.getMessage() == null ? name : name + ": " + cause.getMessage();
+        }
+    }
+
     public void cast() {
-        System.out.println(type + ": In file: " + file + ", line: " + line + " column: " + column + " " + message);
-        System.exit(0);
+        throw this;
     }
 }
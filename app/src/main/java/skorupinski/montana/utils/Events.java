@@ -0,0 +1,103 @@
+package skorupinski.montana.utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+public class Events {
+
+    private static final EventType FUNCTION_CALLS = EventType.getEventType(FunctionCall.class);
+
+    private static final EventType NATIVE_CALLS = EventType.getEventType(NativeCall.class);
+
+    private Events() {}
+
+    public static boolean functionCalls() {
+        return FUNCTION_CALLS.isEnabled();
+    }
+
+    public static boolean nativeCalls() {
+        return NATIVE_CALLS.isEnabled();
+    }
+
+    @Name("montana.Phase")
+    @Label("Script Phase")
+    @Category("Montana")
+    @Description("Reading, parsing, analysis or execution of a script")
+    @StackTrace(false)
+    public static class Phase extends Event {
+
+        @Label("Phase")
+        public String phase;
+
+        @Label("Path")
+        public String path;
+
+        public Phase(String phase, String path) {
+            this.phase = phase;
+            this.path = path;
+        }
+    }
+
+    @Name("montana.Import")
+    @Label("Import")
+    @Category("Montana")
+    @Description("Import of a script file or a builtin module")
+    @StackTrace(false)
+    public static class Import extends Event {
+
+        @Label("Path")
+        public String path;
+
+        @Label("Name")
+        public String name;
+
+        @Label("Builtin")
+        public boolean builtin;
+
+        public Import(String path, String name, boolean builtin) {
+            this.path = path;
+            this.name = name;
+            this.builtin = builtin;
+        }
+    }
+
+    @Name("montana.NativeCall")
+    @Label("Native Call")
+    @Category("Montana")
+    @Description("Call of a builtin module method")
+    @Threshold("1 ms")
+    public static class NativeCall extends Event {
+
+        @Label("Module")
+        public String module;
+
+        @Label("Method")
+        public String method;
+    }
+
+    @Name("montana.FunctionCall")
+    @Label("Function Call")
+    @Category("Montana")
+    @Description("Call of a Montana function that took longer than the threshold")
+    @Enabled(false)
+    @Threshold("10 ms")
+    @StackTrace(false)
+    public static class FunctionCall extends Event {
+
+        @Label("Function")
+        public String function;
+
+        @Label("File")
+        public String file;
+
+        @Label("Line")
+        public int line;
+    }
+}
@@ -0,0 +1,50 @@
+package skorupinski.montana.utils;
+
+import java.io.IOException;
+
+public class Json {
+
+    private Json() {}
+
+    public static void string(Appendable out, String value) throws IOException {
+        out.append('"');
+
+        for(int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+
+            switch(c) {
+                case '"':
+                    out.append("\\\"");
+                    break;
+                case '\\':
+                    out.append("\\\\");
+                    break;
+                case '\n':
+                    out.append("\\n");
+                    break;
+                case '\r':
+                    out.append("\\r");
+                    break;
+                case '\t':
+                    out.append("\\t");
+                    break;
+                default:
+                    if(c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+
+        out.append('"');
+    }
+
+    public static void string(StringBuilder out, String value) {
+        try {
+            string((Appendable) out, value);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}